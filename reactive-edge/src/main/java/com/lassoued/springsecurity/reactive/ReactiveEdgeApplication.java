@@ -0,0 +1,19 @@
+package com.lassoued.springsecurity.reactive;
+
+import com.lassoued.springsecurity.config.JwtKeyProperties;
+import com.lassoued.springsecurity.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@EnableConfigurationProperties(JwtKeyProperties.class)
+@Import(GlobalExceptionHandler.class)
+public class ReactiveEdgeApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveEdgeApplication.class, args);
+    }
+
+}
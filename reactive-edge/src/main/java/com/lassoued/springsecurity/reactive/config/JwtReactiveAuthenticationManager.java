@@ -0,0 +1,38 @@
+package com.lassoued.springsecurity.reactive.config;
+
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtService jwtService;
+    private final ReactiveUserDetailsService userDetailsService;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        VerifiedAccessToken token = (VerifiedAccessToken) authentication.getPrincipal();
+        if (token.getSubject() == null) {
+            return Mono.error(new BadCredentialsException("Token has no subject"));
+        }
+        return userDetailsService.findByUsername(token.getSubject())
+                .filter(userDetails -> jwtService.isTokenValid(token, userDetails)
+                        && userDetails.isEnabled()
+                        && userDetails.isAccountNonLocked())
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid token")))
+                .map(userDetails -> UsernamePasswordAuthenticationToken.authenticated(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                ));
+    }
+}
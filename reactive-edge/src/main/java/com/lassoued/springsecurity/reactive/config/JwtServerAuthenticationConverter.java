@@ -0,0 +1,47 @@
+package com.lassoued.springsecurity.reactive.config;
+
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.VerifiedTokenCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Component
+public class JwtServerAuthenticationConverter implements ServerAuthenticationConverter {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean offloadVerification;
+
+    public JwtServerAuthenticationConverter(VerifiedTokenCache verifiedTokenCache, JwtService jwtService) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        // an RSA or EC signature check costs tens of microseconds to milliseconds, too long for the event loop
+        this.offloadVerification = !jwtService.getAccessKeyRing().getAlgorithm().isHmac();
+    }
+
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        if (exchange.getRequest().getPath().pathWithinApplication().value().startsWith("/api/v1/auth")) {
+            return Mono.empty();
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+
+        String jwt = authHeader.substring(7);
+        // HMAC verification is a few microseconds and usually a cache hit, so it stays on the event loop
+        Mono<Authentication> authentication = Mono.fromCallable(
+                () -> new PreAuthenticatedAuthenticationToken(verifiedTokenCache.verify(jwt), jwt));
+        if (offloadVerification) {
+            authentication = authentication.subscribeOn(Schedulers.boundedElastic());
+        }
+        return authentication.onErrorMap(e -> new BadCredentialsException("Invalid token", e));
+    }
+}
@@ -0,0 +1,49 @@
+package com.lassoued.springsecurity.reactive.config;
+
+import com.lassoued.springsecurity.config.JwtKeyProperties;
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ReactiveApplicationConfig {
+
+    @Value("${application.security.jwt.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${application.security.jwt.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    @Value("${application.security.jwt.token-cache.ttl:5m}")
+    private Duration tokenCacheTtl;
+
+    @Value("${application.security.password-hashing.strength:10}")
+    private int hashingStrength;
+
+    @Value("${application.security.password-hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${application.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Bean
+    public JwtService jwtService(JwtKeyProperties keyProperties, MeterRegistry meterRegistry) {
+        return new JwtService(keyProperties, meterRegistry);
+    }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(JwtService jwtService) {
+        return new VerifiedTokenCache(jwtService, tokenCacheEnabled, tokenCacheMaxSize, tokenCacheTtl);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ReactivePasswordEncoder passwordEncoder() {
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+        return new ReactivePasswordEncoder(hashingStrength, poolSize, hashingQueueCapacity);
+    }
+}
@@ -0,0 +1,39 @@
+package com.lassoued.springsecurity.reactive.config;
+
+import com.lassoued.springsecurity.exception.HashingCapacityExceededException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+public class ReactivePasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final Scheduler scheduler;
+
+    public ReactivePasswordEncoder(int strength, int poolSize, int queueCapacity) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        // hashing never runs on an event loop; past the queue capacity callers get a 503 instead of waiting
+        this.scheduler = Schedulers.newBoundedElastic(poolSize, queueCapacity, "password-hashing", 60, true);
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return offload(Mono.fromCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(Mono.fromCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    public void dispose() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> offload(Mono<T> hashing) {
+        return hashing
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> new HashingCapacityExceededException());
+    }
+}
@@ -0,0 +1,57 @@
+package com.lassoued.springsecurity.reactive.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfiguration {
+
+    private final JwtReactiveAuthenticationManager authenticationManager;
+    private final JwtServerAuthenticationConverter authenticationConverter;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                // same status as the servlet chain, which has no login entry point either
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN))
+                )
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/v1/auth/**").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/api/v1/users/profile").hasRole("USER")
+                        .pathMatchers(HttpMethod.GET, "/api/v1/users/{id}").hasAnyRole("MANAGER", "ADMIN")
+                        .pathMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(jwtAuthenticationWebFilter(), SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+
+    private AuthenticationWebFilter jwtAuthenticationWebFilter() {
+        AuthenticationWebFilter filter = new AuthenticationWebFilter(authenticationManager);
+        filter.setServerAuthenticationConverter(authenticationConverter);
+        filter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        // like the servlet filter, an invalid token leaves the request unauthenticated for the rules above to reject
+        filter.setAuthenticationFailureHandler((webFilterExchange, exception) ->
+                webFilterExchange.getChain().filter(webFilterExchange.getExchange()));
+        return filter;
+    }
+}
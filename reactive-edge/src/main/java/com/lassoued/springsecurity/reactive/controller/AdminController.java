@@ -0,0 +1,57 @@
+package com.lassoued.springsecurity.reactive.controller;
+
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.reactive.repository.ReactiveRefreshTokenRepository;
+import com.lassoued.springsecurity.reactive.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveRefreshTokenRepository refreshTokenRepository;
+
+    @GetMapping("/dashboard")
+    public Mono<ResponseEntity<Map<String, Object>>> getDashboard() {
+        Mono<Map<String, Object>> users = userRepository.countByRole()
+                .collectList()
+                .map(statistics -> {
+                    Map<Role, Long> usersByRole = new EnumMap<>(Role.class);
+                    long total = 0;
+                    long enabled = 0;
+                    long locked = 0;
+                    for (ReactiveUserRepository.RoleStatistics row : statistics) {
+                        usersByRole.put(row.role(), row.total());
+                        total += row.total();
+                        enabled += row.enabled();
+                        locked += row.locked();
+                    }
+                    Map<String, Object> dashboard = new HashMap<>();
+                    dashboard.put("totalUsers", total);
+                    dashboard.put("usersByRole", usersByRole);
+                    dashboard.put("enabledUsers", enabled);
+                    dashboard.put("lockedUsers", locked);
+                    return dashboard;
+                });
+
+        return Mono.zip(users, refreshTokenRepository.countActiveTokens(Instant.now()))
+                .map(result -> {
+                    Map<String, Object> dashboard = result.getT1();
+                    dashboard.put("activeRefreshTokens", result.getT2());
+                    dashboard.put("timestamp", Instant.now());
+                    return ResponseEntity.ok(dashboard);
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.lassoued.springsecurity.reactive.controller;
+
+import com.lassoued.springsecurity.domain.AuthenticationRequest;
+import com.lassoued.springsecurity.domain.AuthenticationResponse;
+import com.lassoued.springsecurity.domain.RegisterRequest;
+import com.lassoued.springsecurity.reactive.service.ReactiveAuthenticationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthenticationController {
+
+    private final ReactiveAuthenticationService service;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<AuthenticationResponse>> register(
+            @RequestBody RegisterRequest request
+    ) {
+        return service.register(request).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/authenticate")
+    public Mono<ResponseEntity<AuthenticationResponse>> authenticate(
+            @RequestBody AuthenticationRequest request
+    ) {
+        return service.authenticate(request).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/refresh-token")
+    public Mono<ResponseEntity<AuthenticationResponse>> refreshToken(
+            ServerHttpRequest request
+    ) {
+        return service.refreshToken(request)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(ServerHttpRequest request) {
+        return service.logout(request).then(Mono.just(ResponseEntity.ok().build()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.lassoued.springsecurity.reactive.controller;
+
+import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.UserResponse;
+import com.lassoued.springsecurity.reactive.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final ReactiveUserRepository userRepository;
+
+    // the principal was loaded from the database by the authentication manager for this request
+    @GetMapping("/profile")
+    public Mono<ResponseEntity<UserResponse>> getCurrentUser(@AuthenticationPrincipal User user) {
+        return Mono.just(ResponseEntity.ok(mapToUserResponse(user)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserResponse>> getUserById(@PathVariable Integer id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found")))
+                .map(user -> ResponseEntity.ok(mapToUserResponse(user)));
+    }
+
+    private UserResponse mapToUserResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .firstname(user.getFirstname())
+                .lastname(user.getLastname())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .enabled(user.isEnabled())
+                .accountLocked(user.isAccountLocked())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.lassoued.springsecurity.reactive.repository;
+
+import com.lassoued.springsecurity.domain.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRefreshTokenRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Void> save(RefreshToken token) {
+        return databaseClient.sql("INSERT INTO refresh_token (id, token_hash, revoked, generation, expires_at, user_id) " +
+                        "VALUES (nextval('refresh_token_seq'), :tokenHash, :revoked, :generation, :expiresAt, :userId)")
+                .bind("tokenHash", token.getTokenHash())
+                .bind("revoked", token.isRevoked())
+                .bind("generation", token.getGeneration())
+                .bind("expiresAt", token.getExpiresAt())
+                .bind("userId", token.getUser().getId())
+                .then();
+    }
+
+    public Mono<RefreshToken> findWithUserByTokenHash(byte[] tokenHash) {
+        return databaseClient.sql("SELECT rt.id AS token_id, rt.revoked, rt.generation, rt.expires_at, " +
+                        ReactiveUserRepository.USER_COLUMNS + " " +
+                        "FROM refresh_token rt JOIN _user u ON u.id = rt.user_id WHERE rt.token_hash = :tokenHash")
+                .bind("tokenHash", tokenHash)
+                .map(row -> RefreshToken.builder()
+                        .id(row.get("token_id", Integer.class))
+                        .tokenHash(tokenHash)
+                        .revoked(Boolean.TRUE.equals(row.get("revoked", Boolean.class)))
+                        .generation(row.get("generation", Integer.class))
+                        .expiresAt(row.get("expires_at", Instant.class))
+                        .user(ReactiveUserRepository.toUser(row))
+                        .build())
+                .one();
+    }
+
+    public Mono<Long> countActiveTokens(Instant now) {
+        return databaseClient.sql("SELECT COUNT(*) AS active FROM refresh_token rt JOIN _user u ON u.id = rt.user_id " +
+                        "WHERE rt.revoked = false AND rt.expires_at > :now AND rt.generation = u.token_generation")
+                .bind("now", now)
+                .map(row -> row.get("active", Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,96 @@
+package com.lassoued.springsecurity.reactive.repository;
+
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    static final String USER_COLUMNS = "u.id, u.firstname, u.lastname, u.email, u.password, u.role, " +
+            "u.account_locked, u.enabled, u.token_generation";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByEmail(String email) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM _user u WHERE u.email = :email")
+                .bind("email", email)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    public Mono<User> findById(Integer id) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM _user u WHERE u.id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    // ids come from the same sequence the JPA application allocates from
+    public Mono<User> save(User user) {
+        return databaseClient.sql("INSERT INTO _user " +
+                        "(id, firstname, lastname, email, password, role, account_locked, enabled, token_generation) " +
+                        "VALUES (nextval('_user_seq'), :firstname, :lastname, :email, :password, :role, " +
+                        ":accountLocked, :enabled, :tokenGeneration) RETURNING id")
+                .bind("firstname", Parameter.fromOrEmpty(user.getFirstname(), String.class))
+                .bind("lastname", Parameter.fromOrEmpty(user.getLastname(), String.class))
+                .bind("email", user.getEmail())
+                .bind("password", user.getPassword())
+                .bind("role", user.getRole().name())
+                .bind("accountLocked", user.isAccountLocked())
+                .bind("enabled", user.isEnabled())
+                .bind("tokenGeneration", user.getTokenGeneration())
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .map(id -> {
+                    user.setId(id);
+                    return user;
+                });
+    }
+
+    public Mono<Integer> incrementTokenGeneration(Integer userId) {
+        return databaseClient.sql("UPDATE _user SET token_generation = token_generation + 1 " +
+                        "WHERE id = :id RETURNING token_generation")
+                .bind("id", userId)
+                .map(row -> row.get("token_generation", Integer.class))
+                .one();
+    }
+
+    public Flux<RoleStatistics> countByRole() {
+        return databaseClient.sql("SELECT role, COUNT(*) AS total, " +
+                        "SUM(CASE WHEN enabled THEN 1 ELSE 0 END) AS enabled, " +
+                        "SUM(CASE WHEN account_locked THEN 1 ELSE 0 END) AS locked " +
+                        "FROM _user GROUP BY role")
+                .map(row -> new RoleStatistics(
+                        Role.valueOf(row.get("role", String.class)),
+                        row.get("total", Long.class),
+                        row.get("enabled", Long.class),
+                        row.get("locked", Long.class)
+                ))
+                .all();
+    }
+
+    static User toUser(Readable row) {
+        return User.builder()
+                .id(row.get("id", Integer.class))
+                .firstname(row.get("firstname", String.class))
+                .lastname(row.get("lastname", String.class))
+                .email(row.get("email", String.class))
+                .password(row.get("password", String.class))
+                .role(Role.valueOf(row.get("role", String.class)))
+                .accountLocked(Boolean.TRUE.equals(row.get("account_locked", Boolean.class)))
+                .enabled(Boolean.TRUE.equals(row.get("enabled", Boolean.class)))
+                .tokenGeneration(row.get("token_generation", Integer.class))
+                .build();
+    }
+
+    public record RoleStatistics(Role role, long total, long enabled, long locked) {
+    }
+}
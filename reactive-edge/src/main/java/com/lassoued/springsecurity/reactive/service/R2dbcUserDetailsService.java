@@ -0,0 +1,20 @@
+package com.lassoued.springsecurity.reactive.service;
+
+import com.lassoued.springsecurity.reactive.repository.ReactiveUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserRepository userRepository;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findByEmail(username).cast(UserDetails.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.lassoued.springsecurity.reactive.service;
+
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.TokenDigest;
+import com.lassoued.springsecurity.domain.AuthenticationRequest;
+import com.lassoued.springsecurity.domain.AuthenticationResponse;
+import com.lassoued.springsecurity.domain.Permission;
+import com.lassoued.springsecurity.domain.RefreshToken;
+import com.lassoued.springsecurity.domain.RegisterRequest;
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.VerifiedRefreshToken;
+import com.lassoued.springsecurity.exception.UserAlreadyExistException;
+import com.lassoued.springsecurity.reactive.config.ReactivePasswordEncoder;
+import com.lassoued.springsecurity.reactive.repository.ReactiveRefreshTokenRepository;
+import com.lassoued.springsecurity.reactive.repository.ReactiveUserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class ReactiveAuthenticationService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveRefreshTokenRepository refreshTokenRepository;
+    private final ReactivePasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final TransactionalOperator transactionalOperator;
+    private final Mono<String> userNotFoundPassword;
+
+    public ReactiveAuthenticationService(
+            ReactiveUserRepository userRepository,
+            ReactiveRefreshTokenRepository refreshTokenRepository,
+            ReactivePasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            TransactionalOperator transactionalOperator
+    ) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.transactionalOperator = transactionalOperator;
+        // unknown emails are checked against this hash so they take as long as a wrong password
+        this.userNotFoundPassword = passwordEncoder.encode(UUID.randomUUID().toString()).cache();
+    }
+
+    public Mono<AuthenticationResponse> register(RegisterRequest request) {
+        return passwordEncoder.encode(request.getPassword())
+                .map(encodedPassword -> User.builder()
+                        .firstname(request.getFirstname())
+                        .lastname(request.getLastname())
+                        .email(request.getEmail())
+                        .password(encodedPassword)
+                        .role(request.getRole() != null ? request.getRole() : Role.USER)
+                        .enabled(true)
+                        .accountLocked(false)
+                        .build())
+                .flatMap(user -> transactionalOperator.transactional(userRepository.save(user).flatMap(this::issueTokens)))
+                .onErrorMap(DataIntegrityViolationException.class, e -> new UserAlreadyExistException("Error while saving user", e));
+    }
+
+    public Mono<AuthenticationResponse> authenticate(AuthenticationRequest request) {
+        return userRepository.findByEmail(request.getEmail())
+                .flatMap(user -> passwordEncoder.matches(request.getPassword(), user.getPassword())
+                        .flatMap(matches -> matches ? checkStatus(user) : Mono.error(new BadCredentialsException("Bad credentials"))))
+                .switchIfEmpty(Mono.defer(() -> userNotFoundPassword
+                        .flatMap(hash -> passwordEncoder.matches(request.getPassword(), hash))
+                        .then(Mono.<User>error(new BadCredentialsException("Bad credentials")))))
+                // a new login ends every previous session of the user
+                .flatMap(user -> transactionalOperator.transactional(userRepository.incrementTokenGeneration(user.getId())
+                        .flatMap(generation -> {
+                            user.setTokenGeneration(generation);
+                            return issueTokens(user);
+                        })));
+    }
+
+    public Mono<AuthenticationResponse> refreshToken(ServerHttpRequest request) {
+        String refreshToken = bearerToken(request);
+        if (refreshToken == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> jwtService.verifyRefreshToken(refreshToken))
+                .flatMap(verified -> refreshTokenRepository.findWithUserByTokenHash(TokenDigest.sha256(refreshToken))
+                        .filter(refreshTokenEntity -> isRedeemable(refreshTokenEntity, verified)))
+                .map(refreshTokenEntity -> buildAuthResponse(
+                        jwtService.generateToken(refreshTokenEntity.getUser()),
+                        refreshToken,
+                        refreshTokenEntity.getUser()))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    public Mono<Void> logout(ServerHttpRequest request) {
+        String jwt = bearerToken(request);
+        if (jwt == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> jwtService.verifyAccessToken(jwt))
+                .flatMap(token -> token.getUserId() != null
+                        ? Mono.just(token.getUserId())
+                        : userRepository.findByEmail(token.getSubject()).map(User::getId))
+                .flatMap(userRepository::incrementTokenGeneration)
+                .then()
+                // Token might be expired, just ignore
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private Mono<User> checkStatus(User user) {
+        if (!user.isAccountNonLocked()) {
+            return Mono.error(new LockedException("User account is locked"));
+        }
+        if (!user.isEnabled()) {
+            return Mono.error(new DisabledException("User is disabled"));
+        }
+        return Mono.just(user);
+    }
+
+    private boolean isRedeemable(RefreshToken refreshTokenEntity, VerifiedRefreshToken verified) {
+        User user = refreshTokenEntity.getUser();
+        return !refreshTokenEntity.isRevoked()
+                && !refreshTokenEntity.isExpired()
+                && user.getEmail().equals(verified.getSubject())
+                && user.isEnabled()
+                && user.isAccountNonLocked()
+                && refreshTokenEntity.getGeneration() == user.getTokenGeneration()
+                && verified.getGeneration() == user.getTokenGeneration();
+    }
+
+    private Mono<AuthenticationResponse> issueTokens(User user) {
+        String accessToken = jwtService.generateToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user);
+        RefreshToken token = RefreshToken.builder()
+                .user(user)
+                .tokenHash(TokenDigest.sha256(refreshToken))
+                .generation(user.getTokenGeneration())
+                .expiresAt(Instant.now().plusSeconds(604800))
+                .revoked(false)
+                .build();
+        return refreshTokenRepository.save(token)
+                .thenReturn(buildAuthResponse(accessToken, refreshToken, user));
+    }
+
+    private AuthenticationResponse buildAuthResponse(String accessToken, String refreshToken, User user) {
+        return AuthenticationResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .role(user.getRole().name())
+                .permissions(user.getRole().getPermissions().stream()
+                        .map(Permission::getPermission)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static String bearerToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+    }
+}
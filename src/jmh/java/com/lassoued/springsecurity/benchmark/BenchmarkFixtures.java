@@ -0,0 +1,37 @@
+package com.lassoued.springsecurity.benchmark;
+
+import com.lassoued.springsecurity.config.JwtKeyProperties;
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService() {
+        return jwtService(SignatureAlgorithm.HS256);
+    }
+
+    // asymmetric algorithms sign with an ephemeral key pair generated by the key ring
+    static JwtService jwtService(SignatureAlgorithm algorithm) {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.getAccess().setAlgorithm(algorithm);
+        return new JwtService(properties, new SimpleMeterRegistry());
+    }
+
+    static User user(Role role) {
+        return User.builder()
+                .id(42)
+                .firstname("Bench")
+                .lastname("Mark")
+                .email("bench.mark@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3TVNLxhxTJqHlCdHDdWFAEi")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+}
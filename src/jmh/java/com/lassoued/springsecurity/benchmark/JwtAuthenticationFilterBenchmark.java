@@ -0,0 +1,79 @@
+package com.lassoued.springsecurity.benchmark;
+
+import com.lassoued.springsecurity.config.JwtAuthenticationFilter;
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.SecurityConfiguration;
+import com.lassoued.springsecurity.config.VerifiedTokenCache;
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.service.UserStatusRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService();
+        User user = BenchmarkFixtures.user(Role.USER);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtService, tokenCacheEnabled, 10_000, Duration.ofMinutes(5));
+        // the user store is an in-memory lookup so the benchmark measures the filter, not a database
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                tokenCache,
+                username -> user,
+                new UserStatusRegistry(null, null, jwtService),
+                SecurityConfiguration.routeAuthorizationTable(),
+                new SimpleMeterRegistry()
+        );
+
+        request = new MockHttpServletRequest("GET", "/api/v1/users/profile");
+        request.setServletPath("/api/v1/users/profile");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.lassoued.springsecurity.benchmark;
+
+import com.lassoued.springsecurity.config.RouteAuthorizationTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+// Compares the compiled route table with Spring's first-match matcher list as the rule set grows.
+// Ant matchers stand in for the MVC matchers of the real chain, which need a running dispatcher.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteAuthorizationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int extraRules;
+
+    // "first" hits an early application rule, "last" the final synthetic rule
+    @Param({"first", "last"})
+    public String target;
+
+    private RouteAuthorizationTable table;
+    private RequestMatcherDelegatingAuthorizationManager sequential;
+    private MockHttpServletRequest request;
+    private RequestAuthorizationContext context;
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() {
+        RouteAuthorizationTable.Builder tableBuilder = RouteAuthorizationTable.builder()
+                .route("/api/v1/auth/**").permitAll()
+                .route(HttpMethod.GET, "/api/v1/users/profile").hasRole("USER")
+                .route(HttpMethod.GET, "/api/v1/users/{id}").hasAnyRole("MANAGER", "ADMIN")
+                .route("/api/v1/admin/**").hasRole("ADMIN");
+        RequestMatcherDelegatingAuthorizationManager.Builder sequentialBuilder = RequestMatcherDelegatingAuthorizationManager.builder()
+                .add(antMatcher("/api/v1/auth/**"), (a, c) -> new AuthorizationDecision(true))
+                .add(antMatcher(HttpMethod.GET, "/api/v1/users/profile"), AuthorityAuthorizationManager.hasRole("USER"))
+                .add(antMatcher(HttpMethod.GET, "/api/v1/users/{id}"), AuthorityAuthorizationManager.hasAnyRole("MANAGER", "ADMIN"))
+                .add(antMatcher("/api/v1/admin/**"), AuthorityAuthorizationManager.hasRole("ADMIN"));
+
+        for (int i = 0; i < extraRules; i++) {
+            String pattern = "/api/v1/resource" + i + "/{id}";
+            tableBuilder.route(HttpMethod.GET, pattern).hasRole("USER");
+            sequentialBuilder.add(antMatcher(HttpMethod.GET, pattern), AuthorityAuthorizationManager.hasRole("USER"));
+        }
+        table = tableBuilder.anyOtherRouteAuthenticated().build();
+        sequential = sequentialBuilder
+                .add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated())
+                .build();
+
+        String path = target.equals("first") ? "/api/v1/users/profile" : "/api/v1/resource" + (extraRules - 1) + "/42";
+        request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        context = new RequestAuthorizationContext(request);
+        Authentication user = new UsernamePasswordAuthenticationToken(
+                "user@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        authentication = () -> user;
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiledTable() {
+        // resolves by method and path directly so the per-request attribute cache is not measured
+        return table.resolve(request.getMethod(), request.getServletPath()).manager().check(authentication, context);
+    }
+
+    @Benchmark
+    public AuthorizationDecision sequentialMatchers() {
+        return sequential.check(authentication, request);
+    }
+}
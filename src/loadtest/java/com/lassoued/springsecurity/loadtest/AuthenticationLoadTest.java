@@ -0,0 +1,261 @@
+package com.lassoued.springsecurity.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Boots the application on the embedded database and drives it with concurrent clients.
+// Each client registers, then loops over profile/dashboard reads with periodic refreshes and re-logins.
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // every client connects from 127.0.0.1, so the per-client login limit would reject the run
+                "application.security.login-throttle.enabled=false",
+                "logging.level.org.hibernate.SQL=WARN"
+        }
+)
+@ActiveProfiles("embedded")
+class AuthenticationLoadTest {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int REFRESH_EVERY = 10;
+    private static final int LOGIN_EVERY = 50;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private HttpClient httpClient;
+
+    @Test
+    void sustainsConcurrentClients() throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 50);
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        double adminRatio = Double.parseDouble(System.getProperty("loadtest.admin-ratio", "0.1"));
+
+        for (String endpoint : List.of("register", "authenticate", "refresh-token", "users/profile", "admin/dashboard")) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        // the http client keeps its own executor: the client threads block in send() and cannot complete its futures
+        ExecutorService clientPool = Executors.newFixedThreadPool(clients);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        PoolSampler poolSampler = new PoolSampler(((HikariDataSource) dataSource).getHikariPoolMXBean());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(poolSampler, 0, 50, TimeUnit.MILLISECONDS);
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            boolean admin = i < Math.round(clients * adminRatio);
+            int clientId = i;
+            running.add(clientPool.submit(() -> runClient(clientId, admin, deadline)));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        sampler.shutdownNow();
+        clientPool.shutdownNow();
+
+        Map<String, Object> report = report(clients, elapsedSeconds, poolSampler);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File("target/loadtest-result.json"), report);
+
+        long total = stats.values().stream().mapToLong(s -> s.latency.getTotalCount()).sum();
+        long errors = stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+        assertThat(total).isPositive();
+        assertThat(errors).isLessThanOrEqualTo(total / 100);
+    }
+
+    private Void runClient(int clientId, boolean admin, long deadline) throws Exception {
+        String email = "load-client-" + clientId + "@example.com";
+        JsonNode tokens = post("register", "/api/v1/auth/register", null, Map.of(
+                "firstname", "Load",
+                "lastname", "Client" + clientId,
+                "email", email,
+                "password", PASSWORD,
+                "role", admin ? "ADMIN" : "USER"
+        ));
+        if (tokens == null) {
+            return null;
+        }
+        String accessToken = tokens.get("accessToken").asText();
+        String refreshToken = tokens.get("refreshToken").asText();
+
+        for (int iteration = 1; System.nanoTime() < deadline; iteration++) {
+            if (admin) {
+                get("admin/dashboard", "/api/v1/admin/dashboard", accessToken);
+            } else {
+                get("users/profile", "/api/v1/users/profile", accessToken);
+            }
+
+            JsonNode renewed = null;
+            if (iteration % LOGIN_EVERY == 0) {
+                renewed = post("authenticate", "/api/v1/auth/authenticate", null,
+                        Map.of("email", email, "password", PASSWORD));
+            } else if (iteration % REFRESH_EVERY == 0) {
+                renewed = post("refresh-token", "/api/v1/auth/refresh-token", refreshToken, null);
+            }
+            if (renewed != null) {
+                accessToken = renewed.get("accessToken").asText();
+                refreshToken = renewed.get("refreshToken").asText();
+            }
+        }
+        return null;
+    }
+
+    private JsonNode get(String endpoint, String path, String bearer) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET();
+        return send(endpoint, request, bearer);
+    }
+
+    private JsonNode post(String endpoint, String path, String bearer, Object body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(publisher);
+        return send(endpoint, request, bearer);
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request, String bearer) throws InterruptedException {
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        EndpointStats endpointStats = stats.get(endpoint);
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            endpointStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+            if (response.statusCode() / 100 != 2) {
+                endpointStats.errors.increment();
+                return null;
+            }
+            return response.body().length > 0 ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            endpointStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+            endpointStats.errors.increment();
+            return null;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Map<String, Object> report(int clients, double elapsedSeconds, PoolSampler poolSampler) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%nLoad test: %d clients for %.1fs%n", clients, elapsedSeconds);
+        System.out.printf("%-18s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram latency = endpointStats.latency;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", latency.getTotalCount());
+            row.put("errors", endpointStats.errors.sum());
+            row.put("throughput", latency.getTotalCount() / elapsedSeconds);
+            row.put("p50Millis", latency.getValueAtPercentile(50) / 1000.0);
+            row.put("p95Millis", latency.getValueAtPercentile(95) / 1000.0);
+            row.put("p99Millis", latency.getValueAtPercentile(99) / 1000.0);
+            row.put("maxMillis", latency.getMaxValue() / 1000.0);
+            endpoints.put(endpoint, row);
+            System.out.printf("%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                    row.get("requests"), row.get("errors"), row.get("throughput"), row.get("p50Millis"),
+                    row.get("p95Millis"), row.get("p99Millis"), row.get("maxMillis"));
+        });
+
+        Map<String, Object> pool = poolSampler.summary();
+        System.out.printf("Connection pool: %s%n", pool);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", clients);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("endpoints", endpoints);
+        report.put("connectionPool", pool);
+        return report;
+    }
+
+    private static class EndpointStats {
+        private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private static class PoolSampler implements Runnable {
+
+        private final HikariPoolMXBean pool;
+        private long samples;
+        private long saturatedSamples;
+        private long activeSum;
+        private int maxActive;
+        private int maxPending;
+
+        PoolSampler(HikariPoolMXBean pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public synchronized void run() {
+            int active = pool.getActiveConnections();
+            int pending = pool.getThreadsAwaitingConnection();
+            samples++;
+            activeSum += active;
+            maxActive = Math.max(maxActive, active);
+            maxPending = Math.max(maxPending, pending);
+            if (pending > 0 || active >= pool.getTotalConnections()) {
+                saturatedSamples++;
+            }
+        }
+
+        synchronized Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("samples", samples);
+            summary.put("meanActive", samples > 0 ? (double) activeSum / samples : 0);
+            summary.put("maxActive", maxActive);
+            summary.put("maxPending", maxPending);
+            summary.put("saturatedFraction", samples > 0 ? (double) saturatedSamples / samples : 0);
+            return summary;
+        }
+    }
+}
@@ -1,27 +1,51 @@
 package com.lassoued.springsecurity.config;
 
+import com.lassoued.springsecurity.domain.User;
 import com.lassoued.springsecurity.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
 
 @Configuration
+@EnableConfigurationProperties(JwtKeyProperties.class)
 @RequiredArgsConstructor
 public class ApplicationConfig {
     private final UserRepository repository;
 
+    @Value("${application.security.user-cache.enabled:true}")
+    private boolean userCacheEnabled;
+
+    @Value("${application.security.user-cache.max-size:10000}")
+    private long userCacheMaxSize;
+
+    @Value("${application.security.user-cache.ttl:5m}")
+    private Duration userCacheTtl;
+
+    @Value("${application.security.password-hashing.strength:10}")
+    private int hashingStrength;
+
+    @Value("${application.security.password-hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${application.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> repository.findByEmail(username)
+    public CachedUserDetailsService userDetailsService() {
+        UserDetailsService delegate = username -> repository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return new CachedUserDetailsService(delegate, userCacheEnabled, userCacheMaxSize, userCacheTtl);
     }
 
     @Bean
@@ -29,12 +53,26 @@ public class ApplicationConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService());
         provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsPasswordService());
         return provider;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(hashingStrength, poolSize, hashingQueueCapacity);
+    }
+
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = repository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            user.setPassword(newPassword);
+            User updatedUser = repository.save(user);
+            userDetailsService().evict(updatedUser.getEmail());
+            return updatedUser;
+        };
     }
 
     @Bean
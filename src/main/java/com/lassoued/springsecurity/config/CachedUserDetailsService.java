@@ -0,0 +1,122 @@
+package com.lassoued.springsecurity.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsService delegate;
+    private final boolean enabled;
+    private final AsyncCache<String, UserDetails> asyncCache;
+    private final Cache<String, UserDetails> cache;
+    // loads bypass Caffeine's loading calls, so their timings are recorded here by hand
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+
+    public CachedUserDetailsService(UserDetailsService delegate, boolean enabled, long maxSize, Duration ttl) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.asyncCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats(() -> statsCounter)
+                .buildAsync();
+        this.cache = asyncCache.synchronous();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!enabled) {
+            return delegate.loadUserByUsername(username);
+        }
+        CompletableFuture<UserDetails> cached = asyncCache.getIfPresent(username);
+        if (cached != null) {
+            return join(cached);
+        }
+        // The load runs on the calling thread outside any map lock: Cache.get would hold the bin's
+        // monitor during the JDBC call and pin a virtual thread. Concurrent misses still wait on one load.
+        CompletableFuture<UserDetails> loading = new CompletableFuture<>();
+        CompletableFuture<UserDetails> inFlight = asyncCache.asMap().putIfAbsent(username, loading);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        long startedAt = System.nanoTime();
+        try {
+            UserDetails userDetails = delegate.loadUserByUsername(username);
+            statsCounter.recordLoadSuccess(System.nanoTime() - startedAt);
+            loading.complete(userDetails);
+            return userDetails;
+        } catch (Throwable e) {
+            // any failure, Errors included, must release the waiters and the slot
+            statsCounter.recordLoadFailure(System.nanoTime() - startedAt);
+            asyncCache.asMap().remove(username, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void evict(String username) {
+        evict(List.of(username));
+    }
+
+    public void evict(Collection<String> usernames) {
+        cache.invalidateAll(usernames);
+        // a concurrent load may re-cache the old row until the writing transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(usernames);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    private static UserDetails join(CompletableFuture<UserDetails> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.lassoued.springsecurity.config;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Conversion between public keys and their RFC 7517 JSON Web Key form (RSA and NIST P-curves).
+public final class JsonWebKeys {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private JsonWebKeys() {
+    }
+
+    public static Map<String, Object> toJwk(JwtSigningKey key) {
+        if (!key.isPublishable()) {
+            throw new IllegalArgumentException("Key '" + key.getKid() + "' has no public part");
+        }
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (key.getVerificationKey() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(rsa.getModulus(), 0));
+            jwk.put("e", encode(rsa.getPublicExponent(), 0));
+        } else if (key.getVerificationKey() instanceof ECPublicKey ec) {
+            int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+            int length = (fieldSize + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + fieldSize);
+            jwk.put("x", encode(ec.getW().getAffineX(), length));
+            jwk.put("y", encode(ec.getW().getAffineY(), length));
+        } else {
+            throw new IllegalArgumentException("Unsupported key type " + key.getVerificationKey().getAlgorithm());
+        }
+        jwk.put("kid", key.getKid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.getAlgorithm().getValue());
+        return jwk;
+    }
+
+    public static PublicKey toPublicKey(Map<String, Object> jwk) {
+        try {
+            return switch (String.valueOf(jwk.get("kty"))) {
+                case "RSA" -> KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                        decode(jwk.get("n")), decode(jwk.get("e"))));
+                case "EC" -> KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                        new ECPoint(decode(jwk.get("x")), decode(jwk.get("y"))), curve(String.valueOf(jwk.get("crv")))));
+                default -> throw new IllegalArgumentException("Unsupported key type " + jwk.get("kty"));
+            };
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid JWK '" + jwk.get("kid") + "'", e);
+        }
+    }
+
+    private static ECParameterSpec curve(String crv) throws GeneralSecurityException {
+        String name = switch (crv) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new IllegalArgumentException("Unsupported curve " + crv);
+        };
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec(name));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+
+    // unsigned big-endian, left-padded to the curve size for EC coordinates
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static BigInteger decode(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("JWK is missing a key parameter");
+        }
+        return new BigInteger(1, DECODER.decode(value.toString()));
+    }
+}
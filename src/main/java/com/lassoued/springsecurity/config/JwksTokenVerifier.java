@@ -0,0 +1,146 @@
+package com.lassoued.springsecurity.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Verifies access tokens against the issuer's published JWKS without holding any secret. The key set
+// is fetched lazily and refreshed once it is older than refreshInterval; an unknown kid triggers an
+// early refresh, at most once per minRefetchInterval so forged kids cannot hammer the issuer.
+public class JwksTokenVerifier extends SigningKeyResolverAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksTokenVerifier.class);
+
+    private final URI jwksUri;
+    private final long refreshIntervalNanos;
+    private final long minRefetchIntervalNanos;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final JwtParser parser;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile KeySet keySet;
+
+    public JwksTokenVerifier(URI jwksUri, Duration refreshInterval, Duration minRefetchInterval, ObjectMapper objectMapper) {
+        this.jwksUri = jwksUri;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.minRefetchIntervalNanos = minRefetchInterval.toNanos();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.objectMapper = objectMapper;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(this).build();
+    }
+
+    public VerifiedAccessToken verify(String token) {
+        return JwtService.toVerifiedAccessToken(parser.parseClaimsJws(token).getBody());
+    }
+
+    public int getKeyCount() {
+        KeySet current = keySet;
+        return current != null ? current.keys().size() : 0;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new SignatureException("Token has no key id");
+        }
+        KeySet current = keySet;
+        Key key = current != null ? current.keys().get(kid) : null;
+        if (current == null) {
+            current = refresh(null, true);
+        } else if (key == null && current.age() >= minRefetchIntervalNanos) {
+            current = refresh(current, true);
+        } else if (current.age() >= refreshIntervalNanos) {
+            // a stale but usable key set is refreshed by one caller while the others keep verifying
+            current = refresh(current, false);
+        }
+        key = current.keys().get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key '" + kid + "'");
+        }
+        return key;
+    }
+
+    private KeySet refresh(KeySet seen, boolean wait) {
+        if (wait) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return seen;
+        }
+        try {
+            KeySet current = keySet;
+            if (current != seen) {
+                // another caller refreshed while this one waited for the lock
+                return current;
+            }
+            KeySet fetched;
+            try {
+                fetched = new KeySet(fetch(), System.nanoTime());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not fetch signing keys from {}", jwksUri, e);
+                // keep serving the last known keys, and back off before trying again
+                fetched = new KeySet(current != null ? current.keys() : Map.of(), System.nanoTime());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return current != null ? current : new KeySet(Map.of(), System.nanoTime());
+            }
+            keySet = fetched;
+            return fetched;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Map<String, Key> fetch() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                .timeout(Duration.ofSeconds(5))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS endpoint returned HTTP " + response.statusCode());
+        }
+        Map<String, List<Map<String, Object>>> document = objectMapper.readValue(response.body(), new TypeReference<>() {
+        });
+        Map<String, Key> keys = new HashMap<>();
+        for (Map<String, Object> jwk : document.getOrDefault("keys", List.of())) {
+            if (jwk.get("kid") == null || "enc".equals(jwk.get("use"))) {
+                continue;
+            }
+            try {
+                keys.put(jwk.get("kid").toString(), JsonWebKeys.toPublicKey(jwk));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping unusable key '{}' from {}: {}", jwk.get("kid"), jwksUri, e.getMessage());
+            }
+        }
+        return Map.copyOf(keys);
+    }
+
+    private record KeySet(Map<String, Key> keys, long fetchedAt) {
+        private long age() {
+            return System.nanoTime() - fetchedAt;
+        }
+    }
+}
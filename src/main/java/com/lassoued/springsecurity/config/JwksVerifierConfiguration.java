@@ -0,0 +1,25 @@
+package com.lassoued.springsecurity.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty("application.security.jwt.verifier.jwks-uri")
+public class JwksVerifierConfiguration {
+
+    @Bean
+    public JwksTokenVerifier jwksTokenVerifier(
+            @Value("${application.security.jwt.verifier.jwks-uri}") URI jwksUri,
+            @Value("${application.security.jwt.verifier.refresh-interval:PT5M}") Duration refreshInterval,
+            @Value("${application.security.jwt.verifier.min-refetch-interval:PT30S}") Duration minRefetchInterval,
+            ObjectMapper objectMapper
+    ) {
+        return new JwksTokenVerifier(jwksUri, refreshInterval, minRefetchInterval, objectMapper);
+    }
+}
@@ -1,27 +1,75 @@
 package com.lassoued.springsecurity.config;
 
+import com.lassoued.springsecurity.domain.TokenPrincipal;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import com.lassoued.springsecurity.service.UserStatusRegistry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final UserStatusRegistry userStatusRegistry;
+    private final RouteAuthorizationTable routeAuthorizationTable;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    // meters are resolved once here so the request path only records into them
+    private final Timer headerParseTimer;
+    private final Timer verifyTimer;
+    private final Timer userLoadTimer;
+    private final Timer contextSetTimer;
+    private final Counter validOutcome;
+    private final Counter expiredOutcome;
+    private final Counter malformedOutcome;
+    private final Counter rejectedOutcome;
+    private final Counter noTokenOutcome;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            VerifiedTokenCache verifiedTokenCache,
+            UserDetailsService userDetailsService,
+            UserStatusRegistry userStatusRegistry,
+            RouteAuthorizationTable routeAuthorizationTable,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userDetailsService = userDetailsService;
+        this.userStatusRegistry = userStatusRegistry;
+        this.routeAuthorizationTable = routeAuthorizationTable;
+        this.headerParseTimer = stageTimer(meterRegistry, "header_parse");
+        this.verifyTimer = stageTimer(meterRegistry, "verify");
+        this.userLoadTimer = stageTimer(meterRegistry, "user_load");
+        this.contextSetTimer = stageTimer(meterRegistry, "context_set");
+        this.validOutcome = outcomeCounter(meterRegistry, "valid");
+        this.expiredOutcome = outcomeCounter(meterRegistry, "expired");
+        this.malformedOutcome = outcomeCounter(meterRegistry, "malformed");
+        this.rejectedOutcome = outcomeCounter(meterRegistry, "rejected");
+        this.noTokenOutcome = outcomeCounter(meterRegistry, "no_token");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -30,29 +78,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
-        if (request.getServletPath().contains("/api/v1/auth")) {
+        if (routeAuthorizationTable.resolve(request).permitAll()) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        long startedAt = System.nanoTime();
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            noTokenOutcome.increment();
             filterChain.doFilter(request, response);
             return;
         }
 
         jwt = authHeader.substring(7);
+        long stageStartedAt = record(headerParseTimer, startedAt);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            VerifiedAccessToken token = verifiedTokenCache.verify(jwt);
+            stageStartedAt = record(verifyTimer, stageStartedAt);
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (token.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolvePrincipal(token);
+                stageStartedAt = record(userLoadTimer, stageStartedAt);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtService.isTokenValid(token, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -62,12 +114,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             new WebAuthenticationDetailsSource().buildDetails(request)
                     );
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    // keeps the authentication available to async dispatches such as streamed exports
+                    securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
+                    record(contextSetTimer, stageStartedAt);
+                    validOutcome.increment();
+                } else {
+                    rejectedOutcome.increment();
                 }
             }
+        } catch (ExpiredJwtException e) {
+            expiredOutcome.increment();
+        } catch (JwtException | IllegalArgumentException e) {
+            malformedOutcome.increment();
         } catch (Exception e) {
             // Invalid token, continue without authentication
+            rejectedOutcome.increment();
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails resolvePrincipal(VerifiedAccessToken token) {
+        if (userStatusRegistry.isEnabled()) {
+            switch (userStatusRegistry.check(token)) {
+                case CURRENT:
+                    return TokenPrincipal.from(token);
+                case BLOCKED:
+                    return null;
+                default:
+                    // role or status changed since the token was issued, fall back to the database
+                    break;
+            }
+        }
+        return userDetailsService.loadUserByUsername(token.getSubject());
+    }
+
+    private static long record(Timer timer, long stageStartedAt) {
+        long now = System.nanoTime();
+        timer.record(now - stageStartedAt, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("security.filter.stage")
+                .description("Time spent in each JWT authentication filter stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("security.filter.outcome")
+                .description("JWT authentication filter results")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.lassoued.springsecurity.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "application.security.jwt.keys")
+public class JwtKeyProperties {
+
+    private KeySet access = new KeySet();
+    private KeySet refresh = new KeySet();
+
+    @Data
+    public static class KeySet {
+        private String active;
+        private SignatureAlgorithm algorithm = SignatureAlgorithm.HS256;
+        // HMAC algorithms: base64 secrets by kid
+        private Map<String, String> secrets = new LinkedHashMap<>();
+        // RSA and EC algorithms: base64 (or PEM) PKCS#8 private and X.509 public keys by kid
+        private Map<String, KeyPairProperties> keyPairs = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class KeyPairProperties {
+        private String privateKey;
+        private String publicKey;
+    }
+}
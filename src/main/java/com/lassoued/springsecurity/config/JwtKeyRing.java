@@ -0,0 +1,170 @@
+package com.lassoued.springsecurity.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final String legacyKid;
+    private final SignatureAlgorithm algorithm;
+    private final Map<String, JwtSigningKey> configuredKeys;
+    private volatile State state;
+
+    public JwtKeyRing(String activeKid, Map<String, JwtSigningKey> keys) {
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("Active key '" + activeKid + "' is not in the key ring");
+        }
+        // a parser accepts whatever algorithm the token header names, so a ring holds keys of one algorithm only
+        SignatureAlgorithm algorithm = keys.get(activeKid).getAlgorithm();
+        for (JwtSigningKey key : keys.values()) {
+            if (key.getAlgorithm() != algorithm) {
+                throw new IllegalArgumentException("Key '" + key.getKid() + "' uses " + key.getAlgorithm()
+                        + " but the key ring uses " + algorithm);
+            }
+            try {
+                algorithm.assertValidSigningKey(key.getSigningKey());
+                algorithm.assertValidVerificationKey(key.getVerificationKey());
+                // jjwt only checks a minimum size, but each ES* algorithm is bound to exactly one curve
+                if (key.getVerificationKey() instanceof ECKey ecKey
+                        && ecKey.getParams().getCurve().getField().getFieldSize() != algorithm.getMinKeyLength()) {
+                    throw new InvalidKeyException("EC key is not on the " + algorithm + " curve");
+                }
+            } catch (InvalidKeyException e) {
+                throw new IllegalArgumentException("Key '" + key.getKid() + "' is not a valid " + algorithm + " key", e);
+            }
+        }
+        this.legacyKid = activeKid;
+        this.algorithm = algorithm;
+        this.configuredKeys = Map.copyOf(keys);
+        this.state = new State(configuredKeys, activeKid);
+    }
+
+    public static JwtKeyRing fromSecrets(JwtKeyProperties.KeySet keySet, String defaultKid, String defaultSecret) {
+        SignatureAlgorithm algorithm = keySet.getAlgorithm();
+        Map<String, JwtSigningKey> keys = new LinkedHashMap<>();
+        if (algorithm.isHmac()) {
+            if (!keySet.getKeyPairs().isEmpty()) {
+                throw new IllegalArgumentException(algorithm + " key rings take secrets, not key-pairs");
+            }
+            keySet.getSecrets().forEach((kid, secret) -> keys.put(kid, hmacKey(kid, algorithm, secret)));
+            if (keys.isEmpty()) {
+                keys.put(defaultKid, hmacKey(defaultKid, algorithm, defaultSecret));
+            }
+        } else {
+            if (!keySet.getSecrets().isEmpty()) {
+                throw new IllegalArgumentException(algorithm + " key rings take key-pairs, not secrets");
+            }
+            keySet.getKeyPairs().forEach((kid, pair) ->
+                    keys.put(kid, keyPair(kid, algorithm, pair.getPrivateKey(), pair.getPublicKey())));
+            if (keys.isEmpty()) {
+                // only usable on a single node: the key pair is gone after a restart
+                log.warn("No {} key pairs configured for '{}', generating an ephemeral key pair", algorithm, defaultKid);
+                keys.put(defaultKid, JwtSigningKey.asymmetric(defaultKid, algorithm, Keys.keyPairFor(algorithm)));
+            }
+        }
+        String activeKid = keySet.getActive() != null ? keySet.getActive() : keys.keySet().iterator().next();
+        return new JwtKeyRing(activeKid, keys);
+    }
+
+    public static JwtSigningKey hmacKey(String kid, SignatureAlgorithm algorithm, String base64Secret) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        return JwtSigningKey.hmac(kid, algorithm, key);
+    }
+
+    public static JwtSigningKey keyPair(String kid, SignatureAlgorithm algorithm, String privateKey, String publicKey) {
+        if (algorithm == null || !(algorithm.isRsa() || algorithm.isEllipticCurve())) {
+            throw new IllegalArgumentException("Key pairs require an RSA or EC algorithm, got " + algorithm);
+        }
+        if (privateKey == null || publicKey == null) {
+            throw new IllegalArgumentException("Key pair '" + kid + "' needs both a private and a public key");
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC");
+            PrivateKey signingKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodeKey(privateKey)));
+            PublicKey verificationKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodeKey(publicKey)));
+            return JwtSigningKey.asymmetric(kid, algorithm, new KeyPair(verificationKey, signingKey));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + algorithm + " key pair '" + kid + "'", e);
+        }
+    }
+
+    private static byte[] decodeKey(String encoded) {
+        // accepts PEM as well as the bare base64 body
+        String body = encoded.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public JwtSigningKey getActiveKey() {
+        State current = state;
+        return current.keys().get(current.activeKid());
+    }
+
+    public Collection<JwtSigningKey> getKeys() {
+        return state.keys().values();
+    }
+
+    public boolean isConfigured(String kid) {
+        return configuredKeys.containsKey(kid);
+    }
+
+    // Key material only ever comes from configuration, so every node that shares it can verify
+    // whatever another node signs. At runtime the ring only switches between configured keys.
+    // Returns whether a key this ring used to accept has been dropped.
+    public synchronized boolean apply(String activeKid, Set<String> retiredKids) {
+        State current = state;
+        Map<String, JwtSigningKey> keys = new LinkedHashMap<>(configuredKeys);
+        keys.keySet().removeAll(retiredKids);
+        String active = activeKid != null ? activeKid : legacyKid;
+        if (!keys.containsKey(active)) {
+            log.warn("Signing key '{}' is not configured on this node, still signing with '{}'", active, current.activeKid());
+            active = current.activeKid();
+            // never drop the key this node signs with
+            keys.putIfAbsent(active, configuredKeys.get(active));
+        }
+        state = new State(Map.copyOf(keys), active);
+        return !keys.keySet().containsAll(current.keys().keySet());
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        // tokens issued before kid headers were introduced carry no kid
+        String kid = header.getKeyId() != null ? header.getKeyId() : legacyKid;
+        JwtSigningKey key = state.keys().get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key '" + kid + "'");
+        }
+        return key.getVerificationKey();
+    }
+
+    private record State(Map<String, JwtSigningKey> keys, String activeKid) {
+    }
+}
@@ -2,19 +2,22 @@ package com.lassoued.springsecurity.config;
 
 import com.lassoued.springsecurity.domain.Permission;
 import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import com.lassoued.springsecurity.domain.VerifiedRefreshToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -26,6 +29,39 @@ public class JwtService {
     private static final long ACCESS_TOKEN_EXPIRATION = 1000 * 60 * 15; // 15 minutes
     private static final long REFRESH_TOKEN_EXPIRATION = 1000 * 60 * 60 * 24 * 7; // 7 days
 
+    private final JwtKeyRing accessKeyRing;
+    private final JwtKeyRing refreshKeyRing;
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
+
+    private final Timer accessIssueTimer;
+    private final Timer accessVerifyTimer;
+    private final Timer refreshIssueTimer;
+    private final Timer refreshVerifyTimer;
+
+    public JwtService(JwtKeyProperties keyProperties, MeterRegistry meterRegistry) {
+        this.accessKeyRing = JwtKeyRing.fromSecrets(keyProperties.getAccess(), "access-default", SECRET_KEY);
+        this.refreshKeyRing = JwtKeyRing.fromSecrets(keyProperties.getRefresh(), "refresh-default", REFRESH_SECRET_KEY);
+        this.accessTokenParser = Jwts.parserBuilder().setSigningKeyResolver(accessKeyRing).build();
+        this.refreshTokenParser = Jwts.parserBuilder().setSigningKeyResolver(refreshKeyRing).build();
+        this.accessIssueTimer = tokenTimer(meterRegistry, "access", "issue");
+        this.accessVerifyTimer = tokenTimer(meterRegistry, "access", "verify");
+        this.refreshIssueTimer = tokenTimer(meterRegistry, "refresh", "issue");
+        this.refreshVerifyTimer = tokenTimer(meterRegistry, "refresh", "verify");
+    }
+
+    public JwtKeyRing getAccessKeyRing() {
+        return accessKeyRing;
+    }
+
+    public JwtKeyRing getRefreshKeyRing() {
+        return refreshKeyRing;
+    }
+
+    public long getAccessTokenExpiration() {
+        return ACCESS_TOKEN_EXPIRATION;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -45,10 +81,13 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey())
+        return accessVerifyTimer.record(() -> accessTokenParser
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
+    }
+
+    public VerifiedAccessToken verifyAccessToken(String token) {
+        return toVerifiedAccessToken(extractAllClaims(token));
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -63,12 +102,19 @@ public class JwtService {
                     .map(Permission::getPermission)
                     .collect(Collectors.toList()));
             extraClaims.put("userId", user.getId());
+            extraClaims.put("gen", user.getTokenGeneration());
         }
-        return buildToken(extraClaims, userDetails, ACCESS_TOKEN_EXPIRATION, getSignInKey());
+        return accessIssueTimer.record(() -> buildToken(extraClaims, userDetails, ACCESS_TOKEN_EXPIRATION, accessKeyRing));
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, REFRESH_TOKEN_EXPIRATION, getRefreshSignInKey());
+        // jti keeps two refresh tokens issued in the same second distinct, their digest is a unique key
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        if (userDetails instanceof User user) {
+            claims.put("gen", user.getTokenGeneration());
+        }
+        return refreshIssueTimer.record(() -> buildToken(claims, userDetails, REFRESH_TOKEN_EXPIRATION, refreshKeyRing));
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
@@ -76,66 +122,70 @@ public class JwtService {
         return userName.equals(userDetails.getUsername()) && !isTokenExpired(token);
     }
 
-    public String extractUsernameFromRefreshToken(String token) {
-        return extractClaimFromRefreshToken(token, Claims::getSubject);
-    }
-
-    public <T> T extractClaimFromRefreshToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaimsFromRefreshToken(token);
-        return claimsResolver.apply(claims);
+    public boolean isTokenValid(VerifiedAccessToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
-    public Claims extractAllClaimsFromRefreshToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(getRefreshSignInKey())
+    private Claims extractAllClaimsFromRefreshToken(String token) {
+        return refreshVerifyTimer.record(() -> refreshTokenParser
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
     }
 
-    public boolean isRefreshTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUsernameFromRefreshToken(token);
-        return userName.equals(userDetails.getUsername()) && !isRefreshTokenExpired(token);
+    public VerifiedRefreshToken verifyRefreshToken(String token) {
+        Claims claims = extractAllClaimsFromRefreshToken(token);
+        Integer generation = claims.get("gen", Integer.class);
+        return VerifiedRefreshToken.builder()
+                .subject(claims.getSubject())
+                .expiresAt(claims.getExpiration().toInstant())
+                .generation(generation != null ? generation : 0)
+                .build();
     }
 
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
 
-    private boolean isRefreshTokenExpired(String token) {
-        return extractExpirationFromRefreshToken(token).before(new Date());
-    }
-
     private Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
 
-    private Date extractExpirationFromRefreshToken(String token) {
-        return extractClaimFromRefreshToken(token, Claims::getExpiration);
+    @SuppressWarnings("unchecked")
+    static VerifiedAccessToken toVerifiedAccessToken(Claims claims) {
+        List<String> permissions = (List<String>) claims.get("permissions");
+        return VerifiedAccessToken.builder()
+                .subject(claims.getSubject())
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration().toInstant())
+                .role(claims.get("role", String.class))
+                .permissions(permissions != null ? List.copyOf(permissions) : List.of())
+                .userId(claims.get("userId", Integer.class))
+                .build();
     }
 
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration,
-            Key signingKey
+            JwtKeyRing keyRing
     ) {
+        JwtSigningKey signingKey = keyRing.getActiveKey();
         return Jwts
                 .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .signWith(signingKey.getSigningKey(), signingKey.getAlgorithm())
                 .compact();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    private Key getRefreshSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(REFRESH_SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Timer tokenTimer(MeterRegistry meterRegistry, String tokenType, String operation) {
+        return Timer.builder("security.jwt")
+                .description("JWT issuance and verification time")
+                .tag("token", tokenType)
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,32 @@
+package com.lassoued.springsecurity.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Value;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PublicKey;
+
+@Value
+public class JwtSigningKey {
+    String kid;
+    SignatureAlgorithm algorithm;
+    Key signingKey;
+    Key verificationKey;
+
+    public static JwtSigningKey hmac(String kid, Key key) {
+        return hmac(kid, SignatureAlgorithm.HS256, key);
+    }
+
+    public static JwtSigningKey hmac(String kid, SignatureAlgorithm algorithm, Key key) {
+        return new JwtSigningKey(kid, algorithm, key, key);
+    }
+
+    public static JwtSigningKey asymmetric(String kid, SignatureAlgorithm algorithm, KeyPair keyPair) {
+        return new JwtSigningKey(kid, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    public boolean isPublishable() {
+        return verificationKey instanceof PublicKey;
+    }
+}
@@ -0,0 +1,96 @@
+package com.lassoued.springsecurity.config;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Token bucket in its GCRA form: each bucket is one "theoretical arrival time" advanced with a CAS.
+// Keys are hashed onto a fixed table of buckets, so memory is bounded without eviction and a flood
+// of fresh keys only raises the odds of sharing a bucket rather than funnelling every new key into
+// one. The hash is seeded per instance, so colliding keys cannot be computed in advance.
+public class KeyedRateLimiter {
+
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final long seed;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public KeyedRateLimiter(int limit, Duration period, int burst, int buckets) {
+        this(limit, period, burst, buckets, System::nanoTime);
+    }
+
+    KeyedRateLimiter(int limit, Duration period, int burst, int buckets, LongSupplier nanoClock) {
+        if (limit <= 0 || burst <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("limit, burst and buckets must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+        this.arrivals = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.seed = new SecureRandom().nextLong();
+        this.emissionIntervalNanos = period.toNanos() / limit;
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        // arrival times are kept relative to construction so an untouched bucket (0) is always idle
+        long origin = nanoClock.getAsLong();
+        this.clock = () -> nanoClock.getAsLong() - origin;
+    }
+
+    // returns 0 when allowed, otherwise the nanoseconds to wait before retrying
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        int bucket = bucketFor(key);
+        while (true) {
+            long current = arrivals.get(bucket);
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                rejected.increment();
+                return excess;
+            }
+            if (arrivals.compareAndSet(bucket, current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    // buckets whose arrival time is still ahead of now, i.e. that currently restrict someone
+    public int size() {
+        long now = clock.getAsLong();
+        int busy = 0;
+        for (int i = 0; i < arrivals.length(); i++) {
+            if (arrivals.get(i) > now) {
+                busy++;
+            }
+        }
+        return busy;
+    }
+
+    public int getBucketCount() {
+        return arrivals.length();
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private int bucketFor(String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        hash ^= hash >>> 32;
+        return (int) hash & mask;
+    }
+}
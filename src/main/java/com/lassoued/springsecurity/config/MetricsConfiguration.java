@@ -0,0 +1,139 @@
+package com.lassoued.springsecurity.config;
+
+import com.lassoued.springsecurity.service.AuditEventPublisher;
+import com.lassoued.springsecurity.service.AuditEventWriter;
+import com.lassoued.springsecurity.service.LoginThrottleService;
+import com.lassoued.springsecurity.service.RefreshTokenCoalescer;
+import com.lassoued.springsecurity.service.RefreshTokenPurgeJob;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// The components below already keep their own counters, so they are exposed as function meters
+// read at scrape time instead of adding recording work to the request path.
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder securityCacheMetrics(
+            VerifiedTokenCache verifiedTokenCache,
+            CachedUserDetailsService userDetailsService
+    ) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokenCache.getCache(), "verifiedTokens");
+            CaffeineCacheMetrics.monitor(registry, userDetailsService.getCache(), "userDetails");
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            FunctionTimer.builder("security.password.hash", passwordEncoder,
+                            BoundedPasswordEncoder::getCompletedCount,
+                            BoundedPasswordEncoder::getTotalHashNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("BCrypt encode and match time")
+                    .tag("strength", String.valueOf(passwordEncoder.getStrength()))
+                    .register(registry);
+            FunctionTimer.builder("security.password.queue.wait", passwordEncoder,
+                            BoundedPasswordEncoder::getCompletedCount,
+                            BoundedPasswordEncoder::getTotalWaitNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Time hashing requests wait for a pool thread")
+                    .register(registry);
+            FunctionCounter.builder("security.password.rejected", passwordEncoder,
+                            BoundedPasswordEncoder::getRejectedCount)
+                    .description("Hashing requests rejected because the queue was full")
+                    .register(registry);
+            Gauge.builder("security.password.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+            Gauge.builder("security.password.queue.depth", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("security.password.pool.size", passwordEncoder, BoundedPasswordEncoder::getPoolSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginThrottleMetrics(LoginThrottleService loginThrottleService) {
+        return registry -> {
+            bindRateLimiter(registry, loginThrottleService.getEmailLimiter(), "email");
+            bindRateLimiter(registry, loginThrottleService.getClientLimiter(), "client");
+        };
+    }
+
+    @Bean
+    public MeterBinder auditMetrics(AuditEventPublisher publisher, AuditEventWriter writer) {
+        return registry -> {
+            FunctionCounter.builder("security.audit.published", publisher, AuditEventPublisher::getPublishedCount)
+                    .register(registry);
+            FunctionCounter.builder("security.audit.dropped", publisher, AuditEventPublisher::getDroppedCount)
+                    .register(registry);
+            FunctionCounter.builder("security.audit.written", writer, AuditEventWriter::getWrittenCount)
+                    .register(registry);
+            FunctionCounter.builder("security.audit.failed", writer, AuditEventWriter::getFailedCount)
+                    .register(registry);
+            Gauge.builder("security.audit.buffered", publisher, AuditEventPublisher::getBufferedCount)
+                    .register(registry);
+            Gauge.builder("security.audit.lag", publisher, p -> p.getLag().toMillis())
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder refreshTokenPurgeMetrics(RefreshTokenPurgeJob purgeJob) {
+        return registry -> {
+            FunctionCounter.builder("security.refresh_token.purge.deleted", purgeJob,
+                            job -> job.status().getTotalDeleted())
+                    .register(registry);
+            FunctionCounter.builder("security.refresh_token.purge.batches", purgeJob,
+                            RefreshTokenPurgeJob::getBatchesExecuted)
+                    .register(registry);
+            Gauge.builder("security.refresh_token.purge.running", purgeJob, job -> job.status().isRunning() ? 1 : 0)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder refreshCoalescingMetrics(RefreshTokenCoalescer coalescer) {
+        return registry -> {
+            FunctionCounter.builder("security.refresh.coalescing", coalescer, RefreshTokenCoalescer::getComputedCount)
+                    .description("Refresh-token redemptions by how they were served")
+                    .tag("result", "computed")
+                    .register(registry);
+            FunctionCounter.builder("security.refresh.coalescing", coalescer, RefreshTokenCoalescer::getCoalescedCount)
+                    .description("Refresh-token redemptions by how they were served")
+                    .tag("result", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("security.refresh.coalescing", coalescer, RefreshTokenCoalescer::getReusedCount)
+                    .description("Refresh-token redemptions by how they were served")
+                    .tag("result", "reused")
+                    .register(registry);
+            Gauge.builder("security.refresh.coalescing.entries", coalescer, RefreshTokenCoalescer::size)
+                    .register(registry);
+        };
+    }
+
+    private static void bindRateLimiter(MeterRegistry registry, KeyedRateLimiter limiter, String key) {
+        FunctionCounter.builder("security.login.throttle", limiter, KeyedRateLimiter::getAllowedCount)
+                .tag("key", key)
+                .tag("result", "allowed")
+                .register(registry);
+        FunctionCounter.builder("security.login.throttle", limiter, KeyedRateLimiter::getRejectedCount)
+                .tag("key", key)
+                .tag("result", "rejected")
+                .register(registry);
+        Gauge.builder("security.login.throttle.buckets.busy", limiter, KeyedRateLimiter::size)
+                .description("Buckets currently restricting at least one key")
+                .tag("key", key)
+                .register(registry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.lassoued.springsecurity.config;
+
+import com.lassoued.springsecurity.domain.Permission;
+import com.lassoued.springsecurity.domain.RoleAware;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serializable;
+
+public class RolePermissionEvaluator implements PermissionEvaluator {
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (authentication == null || !(targetDomainObject instanceof String domain) || !(permission instanceof String action)) {
+            return false;
+        }
+        Permission required = Permission.fromDomainAndAction(domain, action);
+        if (required == null) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof RoleAware principal && principal.getRole() != null) {
+            return principal.getRole().hasPermission(required);
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (required.getPermission().equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return false;
+    }
+}
@@ -0,0 +1,311 @@
+package com.lassoued.springsecurity.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Route rules compiled into a trie keyed by path segment, with the HTTP method resolved at the leaf.
+// At each segment a literal beats a {variable}, which beats a trailing **; a method-specific rule
+// beats an any-method rule on the same path. Because the declared order is then irrelevant, build()
+// rejects any rule set where first-match order would have decided a request differently.
+public class RouteAuthorizationTable implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String VARIABLE = "{}";
+    private static final String REST = "**";
+    private static final String RESOLVED_ATTRIBUTE = RouteAuthorizationTable.class.getName() + ".RESOLVED";
+
+    private static final AuthorizationManager<RequestAuthorizationContext> PERMIT_ALL =
+            (authentication, context) -> new AuthorizationDecision(true);
+
+    private final Node root;
+    private final Route defaultRoute;
+
+    private RouteAuthorizationTable(Node root, Route defaultRoute) {
+        this.root = root;
+        this.defaultRoute = defaultRoute;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return resolve(context.getRequest()).manager().check(authentication, context);
+    }
+
+    // the result is kept on the request so the JWT filter and the authorization filter share one lookup
+    public Route resolve(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = pathOf(request);
+        if (request.getAttribute(RESOLVED_ATTRIBUTE) instanceof Resolved resolved
+                && resolved.method().equals(method) && resolved.path().equals(path)) {
+            return resolved.route();
+        }
+        Route route = resolve(method, path);
+        request.setAttribute(RESOLVED_ATTRIBUTE, new Resolved(method, path, route));
+        return route;
+    }
+
+    public Route resolve(String method, String path) {
+        Route route = match(root, segments(path), 0, method);
+        return route != null ? route : defaultRoute;
+    }
+
+    private static Route match(Node node, String[] segments, int index, String method) {
+        if (index == segments.length) {
+            Route route = node.routeFor(method);
+            if (route != null) {
+                return route;
+            }
+            // "/a/**" also matches "/a"
+            return node.rest != null ? node.rest.routeFor(method) : null;
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            Route route = match(literal, segments, index + 1, method);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (node.variable != null) {
+            Route route = match(node.variable, segments, index + 1, method);
+            if (route != null) {
+                return route;
+            }
+        }
+        return node.rest != null ? node.rest.routeFor(method) : null;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        return pathInfo != null ? servletPath + pathInfo : servletPath;
+    }
+
+    // empty segments are dropped, so "/a/" and "/a" resolve to the same rule
+    private static String[] segments(String path) {
+        List<String> segments = new ArrayList<>(8);
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(String[]::new);
+    }
+
+    public record Route(HttpMethod method, String pattern, String access, boolean permitAll,
+                        AuthorizationManager<RequestAuthorizationContext> manager) {
+
+        @Override
+        public String toString() {
+            return (method != null ? method.name() : "*") + " " + pattern + " " + access;
+        }
+    }
+
+    private record Resolved(String method, String path, Route route) {
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, Route> byMethod = new HashMap<>();
+        private Node variable;
+        private Node rest;
+        private Route anyMethod;
+
+        private Route routeFor(String method) {
+            Route route = byMethod.isEmpty() ? null : byMethod.get(method);
+            return route != null ? route : anyMethod;
+        }
+    }
+
+    private record Rule(HttpMethod method, String pattern, String[] segments, String access, boolean permitAll,
+                        AuthorizationManager<RequestAuthorizationContext> manager) {
+
+        private boolean covers(Rule other) {
+            return (method == null || method.equals(other.method)) && covers(segments, other.segments, 0);
+        }
+
+        private boolean overlaps(Rule other) {
+            return (method == null || other.method == null || method.equals(other.method))
+                    && overlaps(segments, other.segments, 0);
+        }
+
+        private static boolean covers(String[] outer, String[] inner, int index) {
+            if (index < outer.length && outer[index].equals(REST)) {
+                return true;
+            }
+            if (index == outer.length || index == inner.length) {
+                return index == outer.length && index == inner.length;
+            }
+            if (inner[index].equals(REST)) {
+                return false;
+            }
+            boolean segmentCovered = outer[index].equals(VARIABLE) || outer[index].equals(inner[index]);
+            return segmentCovered && covers(outer, inner, index + 1);
+        }
+
+        private static boolean overlaps(String[] left, String[] right, int index) {
+            if ((index < left.length && left[index].equals(REST)) || (index < right.length && right[index].equals(REST))) {
+                return true;
+            }
+            if (index == left.length || index == right.length) {
+                return index == left.length && index == right.length;
+            }
+            boolean segmentOverlaps = left[index].equals(VARIABLE) || right[index].equals(VARIABLE)
+                    || left[index].equals(right[index]);
+            return segmentOverlaps && overlaps(left, right, index + 1);
+        }
+
+        private Route toRoute() {
+            return new Route(method, pattern, access, permitAll, manager);
+        }
+
+        @Override
+        public String toString() {
+            return (method != null ? method.name() : "*") + " " + pattern + " " + access;
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<Rule> rules = new ArrayList<>();
+        private Route defaultRoute = new Route(null, "/**", "authenticated", false,
+                AuthenticatedAuthorizationManager.authenticated());
+
+        private Builder() {
+        }
+
+        public RuleBuilder route(String... patterns) {
+            return new RuleBuilder(this, null, patterns);
+        }
+
+        public RuleBuilder route(HttpMethod method, String... patterns) {
+            return new RuleBuilder(this, method, patterns);
+        }
+
+        public Builder anyOtherRouteAuthenticated() {
+            defaultRoute = new Route(null, "/**", "authenticated", false,
+                    AuthenticatedAuthorizationManager.authenticated());
+            return this;
+        }
+
+        public Builder anyOtherRouteDenied() {
+            defaultRoute = new Route(null, "/**", "denyAll", false,
+                    (authentication, context) -> new AuthorizationDecision(false));
+            return this;
+        }
+
+        public RouteAuthorizationTable build() {
+            Node root = new Node();
+            for (int i = 0; i < rules.size(); i++) {
+                Rule rule = rules.get(i);
+                for (int j = 0; j < i; j++) {
+                    Rule earlier = rules.get(j);
+                    if (earlier.covers(rule)) {
+                        throw new IllegalStateException("Route rule [" + rule + "] is shadowed by [" + earlier + "]");
+                    }
+                    // an earlier, more specific rule wins under both orderings; anything else is ambiguous
+                    if (earlier.overlaps(rule) && !rule.covers(earlier) && !earlier.access().equals(rule.access())) {
+                        throw new IllegalStateException("Route rules [" + earlier + "] and [" + rule + "] are ambiguous");
+                    }
+                }
+                insert(root, rule);
+            }
+            return new RouteAuthorizationTable(root, defaultRoute);
+        }
+
+        private static void insert(Node root, Rule rule) {
+            Node node = root;
+            for (String segment : rule.segments()) {
+                if (segment.equals(REST)) {
+                    node = node.rest != null ? node.rest : (node.rest = new Node());
+                } else if (segment.equals(VARIABLE)) {
+                    node = node.variable != null ? node.variable : (node.variable = new Node());
+                } else {
+                    node = node.literals.computeIfAbsent(segment, s -> new Node());
+                }
+            }
+            if (rule.method() == null) {
+                node.anyMethod = rule.toRoute();
+            } else {
+                node.byMethod.put(rule.method().name(), rule.toRoute());
+            }
+        }
+
+        private Builder add(HttpMethod method, String[] patterns, String access, boolean permitAll,
+                            AuthorizationManager<RequestAuthorizationContext> manager) {
+            for (String pattern : patterns) {
+                rules.add(new Rule(method, pattern, compile(pattern), access, permitAll, manager));
+            }
+            return this;
+        }
+
+        private static String[] compile(String pattern) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Route pattern '" + pattern + "' must start with '/'");
+            }
+            String[] segments = segments(pattern);
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.equals(REST)) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' must be the last segment of '" + pattern + "'");
+                    }
+                } else if (segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('{', 1) < 0) {
+                    segments[i] = VARIABLE;
+                } else if (segment.indexOf('*') >= 0 || segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                    throw new IllegalArgumentException("Unsupported segment '" + segment + "' in '" + pattern + "'");
+                }
+            }
+            return segments;
+        }
+    }
+
+    public static final class RuleBuilder {
+
+        private final Builder builder;
+        private final HttpMethod method;
+        private final String[] patterns;
+
+        private RuleBuilder(Builder builder, HttpMethod method, String[] patterns) {
+            this.builder = builder;
+            this.method = method;
+            this.patterns = patterns;
+        }
+
+        public Builder permitAll() {
+            return builder.add(method, patterns, "permitAll", true, PERMIT_ALL);
+        }
+
+        public Builder authenticated() {
+            return builder.add(method, patterns, "authenticated", false,
+                    AuthenticatedAuthorizationManager.authenticated());
+        }
+
+        public Builder hasRole(String role) {
+            return hasAnyRole(role);
+        }
+
+        public Builder hasAnyRole(String... roles) {
+            return builder.add(method, patterns, "hasAnyRole" + Arrays.toString(roles), false,
+                    AuthorityAuthorizationManager.hasAnyRole(roles));
+        }
+    }
+}
@@ -26,20 +26,14 @@ public class SecurityConfiguration {
     private final AuthenticationProvider authenticationProvider;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            RouteAuthorizationTable routeAuthorizationTable
+    ) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(requests -> requests
-                        .requestMatchers("/api/v1/auth/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/users/profile").hasRole("USER")
-                        .requestMatchers(HttpMethod.PUT, "/api/v1/users/profile").hasRole("USER")
-                        .requestMatchers(HttpMethod.GET, "/api/v1/users").hasAnyRole("MANAGER", "ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/v1/users/{id}").hasAnyRole("MANAGER", "ADMIN")
-                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/v1/users/{id}").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/v1/users/{id}").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/v1/users/{id}/role").hasRole("ADMIN")
-                        .anyRequest().authenticated()
+                        .anyRequest().access(routeAuthorizationTable)
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -50,8 +44,34 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    // static because JwtAuthenticationFilter, which this configuration depends on, also uses the table
     @Bean
-    public RoleHierarchy roleHierarchy() {
+    public static RouteAuthorizationTable routeAuthorizationTable() {
+        return RouteAuthorizationTable.builder()
+                .route("/api/v1/auth/**").permitAll()
+                // this chain also guards the management port; probes and scrapes reach these two there
+                .route(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                .route(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                .route(HttpMethod.GET, "/api/v1/users/profile").hasRole("USER")
+                .route(HttpMethod.PUT, "/api/v1/users/profile").hasRole("USER")
+                .route(HttpMethod.GET, "/api/v1/users").hasAnyRole("MANAGER", "ADMIN")
+                .route(HttpMethod.GET, "/api/v1/users/export").hasAnyRole("MANAGER", "ADMIN")
+                .route(HttpMethod.GET, "/api/v1/users/{id}").hasAnyRole("MANAGER", "ADMIN")
+                .route("/api/v1/admin/**").hasRole("ADMIN")
+                .route(HttpMethod.PUT, "/api/v1/users/bulk/**").hasRole("ADMIN")
+                .route(HttpMethod.POST, "/api/v1/users/bulk/**").hasRole("ADMIN")
+                .route(HttpMethod.POST, "/api/v1/users/import").hasRole("ADMIN")
+                .route(HttpMethod.PUT, "/api/v1/users/{id}").hasRole("ADMIN")
+                .route(HttpMethod.DELETE, "/api/v1/users/{id}").hasRole("ADMIN")
+                .route(HttpMethod.PUT, "/api/v1/users/{id}/role").hasRole("ADMIN")
+                .anyOtherRouteAuthenticated()
+                .build();
+    }
+
+    // static so that the method-security infrastructure does not instantiate this configuration, and
+    // with it the JWT filter and the meter registry, before the bean post-processors are registered
+    @Bean
+    public static RoleHierarchy roleHierarchy() {
         RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
         String hierarchy = "ROLE_ADMIN > ROLE_MANAGER \n ROLE_MANAGER > ROLE_USER";
         roleHierarchy.setHierarchy(hierarchy);
@@ -59,9 +79,10 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+    public static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
         DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
         expressionHandler.setRoleHierarchy(roleHierarchy());
+        expressionHandler.setPermissionEvaluator(new RolePermissionEvaluator());
         return expressionHandler;
     }
 }
@@ -0,0 +1,87 @@
+package com.lassoued.springsecurity.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<String, VerifiedAccessToken> cache;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            @Value("${application.security.jwt.token-cache.enabled:true}") boolean enabled,
+            @Value("${application.security.jwt.token-cache.max-size:10000}") long maxSize,
+            @Value("${application.security.jwt.token-cache.ttl:5m}") Duration ttl
+    ) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl.toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    public VerifiedAccessToken verify(String token) {
+        if (!enabled) {
+            return jwtService.verifyAccessToken(token);
+        }
+        String key = TokenDigest.sha256Key(token);
+        VerifiedAccessToken verified = cache.get(key, k -> jwtService.verifyAccessToken(token));
+        if (verified.isExpired()) {
+            cache.invalidate(key);
+            return jwtService.verifyAccessToken(token);
+        }
+        return verified;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Cache<String, VerifiedAccessToken> getCache() {
+        return cache;
+    }
+
+    private record TokenExpiry(long ttlNanos) implements Expiry<String, VerifiedAccessToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedAccessToken token, long currentTime) {
+            long untilExpiry = Duration.between(Instant.now(), token.getExpiresAt()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedAccessToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedAccessToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
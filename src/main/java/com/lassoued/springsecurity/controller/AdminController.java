@@ -1,17 +1,27 @@
 package com.lassoued.springsecurity.controller;
 
-import com.lassoued.springsecurity.service.AuthenticationService;
-import com.lassoued.springsecurity.service.UserService;
+import com.lassoued.springsecurity.config.JwtKeyRing;
+import com.lassoued.springsecurity.config.JwtSigningKey;
+import com.lassoued.springsecurity.domain.PurgeStatus;
+import com.lassoued.springsecurity.domain.UserStatistics;
+import com.lassoued.springsecurity.service.RefreshTokenPurgeJob;
+import com.lassoued.springsecurity.service.SigningKeyService;
+import com.lassoued.springsecurity.service.UserStatisticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,22 +30,76 @@ import java.util.Map;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
 
-    private final UserService userService;
-    private final AuthenticationService authenticationService;
+    private final UserStatisticsService userStatisticsService;
+    private final RefreshTokenPurgeJob refreshTokenPurgeJob;
+    private final SigningKeyService signingKeyService;
 
     @GetMapping("/dashboard")
-    @PreAuthorize("hasAuthority('admin:read')")
+    @PreAuthorize("hasPermission('admin', 'read')")
     public ResponseEntity<Map<String, Object>> getDashboard() {
+        UserStatistics statistics = userStatisticsService.snapshot();
         Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("totalUsers", userService.getAllUsers().size());
+        dashboard.put("totalUsers", statistics.getTotalUsers());
+        dashboard.put("usersByRole", statistics.getUsersByRole());
+        dashboard.put("enabledUsers", statistics.getEnabledUsers());
+        dashboard.put("lockedUsers", statistics.getLockedUsers());
+        dashboard.put("activeRefreshTokens", statistics.getActiveRefreshTokens());
+        dashboard.put("statisticsRefreshedAt", statistics.getRefreshedAt());
         dashboard.put("timestamp", Instant.now());
         return ResponseEntity.ok(dashboard);
     }
 
     @PostMapping("/cleanup-tokens")
-    @PreAuthorize("hasAuthority('admin:update')")
-    public ResponseEntity<?> cleanupExpiredTokens() {
-        authenticationService.cleanupExpiredTokens();
-        return ResponseEntity.ok(Map.of("message", "Expired tokens cleaned up"));
+    @PreAuthorize("hasPermission('admin', 'update')")
+    public ResponseEntity<PurgeStatus> cleanupExpiredTokens() {
+        // a paused job would accept the trigger and silently do nothing
+        if (refreshTokenPurgeJob.status().isPaused()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(refreshTokenPurgeJob.status());
+        }
+        refreshTokenPurgeJob.trigger();
+        return ResponseEntity.accepted().body(refreshTokenPurgeJob.status());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/cleanup-tokens")
+    @PreAuthorize("hasPermission('admin', 'read')")
+    public ResponseEntity<PurgeStatus> getTokenCleanupStatus() {
+        return ResponseEntity.ok(refreshTokenPurgeJob.status());
+    }
+
+    @PostMapping("/cleanup-tokens/pause")
+    @PreAuthorize("hasPermission('admin', 'update')")
+    public ResponseEntity<PurgeStatus> pauseTokenCleanup() {
+        refreshTokenPurgeJob.pause();
+        return ResponseEntity.ok(refreshTokenPurgeJob.status());
+    }
+
+    @PostMapping("/cleanup-tokens/resume")
+    @PreAuthorize("hasPermission('admin', 'update')")
+    public ResponseEntity<PurgeStatus> resumeTokenCleanup() {
+        refreshTokenPurgeJob.resume();
+        return ResponseEntity.ok(refreshTokenPurgeJob.status());
+    }
+
+    @GetMapping("/signing-keys/{ring}")
+    @PreAuthorize("hasPermission('admin', 'read')")
+    public ResponseEntity<Map<String, Object>> getSigningKeys(@PathVariable String ring) {
+        JwtKeyRing keyRing = signingKeyService.keyRing(ring);
+        List<String> kids = keyRing.getKeys().stream().map(JwtSigningKey::getKid).sorted().toList();
+        return ResponseEntity.ok(Map.of("active", keyRing.getActiveKey().getKid(), "kids", kids));
+    }
+
+    // keys are added through configuration; these only switch between configured keys
+    @PutMapping("/signing-keys/{ring}/{kid}/active")
+    @PreAuthorize("hasPermission('admin', 'update')")
+    public ResponseEntity<?> activateSigningKey(@PathVariable String ring, @PathVariable String kid) {
+        signingKeyService.activate(ring, kid);
+        return ResponseEntity.ok(Map.of("message", "Signing key activated"));
+    }
+
+    @DeleteMapping("/signing-keys/{ring}/{kid}")
+    @PreAuthorize("hasPermission('admin', 'delete')")
+    public ResponseEntity<?> retireSigningKey(@PathVariable String ring, @PathVariable String kid) {
+        signingKeyService.retire(ring, kid);
+        return ResponseEntity.ok(Map.of("message", "Signing key retired"));
+    }
+}
@@ -4,6 +4,7 @@ import com.lassoued.springsecurity.domain.AuthenticationRequest;
 import com.lassoued.springsecurity.domain.AuthenticationResponse;
 import com.lassoued.springsecurity.domain.RegisterRequest;
 import com.lassoued.springsecurity.service.AuthenticationService;
+import com.lassoued.springsecurity.service.LoginThrottleService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthenticationController {
 
     private final AuthenticationService service;
+    private final LoginThrottleService loginThrottleService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponse> register(
@@ -29,8 +31,10 @@ public class AuthenticationController {
 
     @PostMapping("/authenticate")
     public ResponseEntity<AuthenticationResponse> authenticate(
-            @RequestBody AuthenticationRequest request
+            @RequestBody AuthenticationRequest request,
+            HttpServletRequest httpRequest
     ) {
+        loginThrottleService.checkLoginAttempt(request.getEmail(), httpRequest.getRemoteAddr());
         return ResponseEntity.ok(service.authenticate(request));
     }
 
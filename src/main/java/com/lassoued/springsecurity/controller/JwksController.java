@@ -0,0 +1,35 @@
+package com.lassoued.springsecurity.controller;
+
+import com.lassoued.springsecurity.config.JsonWebKeys;
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.JwtSigningKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtService jwtService;
+
+    // only access-token keys with a public part are listed; refresh tokens and HMAC keys stay private
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        List<Map<String, Object>> keys = jwtService.getAccessKeyRing().getKeys().stream()
+                .filter(JwtSigningKey::isPublishable)
+                .sorted(Comparator.comparing(JwtSigningKey::getKid))
+                .map(JsonWebKeys::toJwk)
+                .toList();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+}
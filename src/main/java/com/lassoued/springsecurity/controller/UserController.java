@@ -1,15 +1,23 @@
 package com.lassoued.springsecurity.controller;
 
+import com.lassoued.springsecurity.domain.BulkUserRequest;
+import com.lassoued.springsecurity.domain.BulkUserResult;
 import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.UserPage;
 import com.lassoued.springsecurity.domain.UserResponse;
+import com.lassoued.springsecurity.service.UserImportService;
 import com.lassoued.springsecurity.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -17,6 +25,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping("/profile")
     @PreAuthorize("hasRole('USER')")
@@ -38,8 +47,43 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<UserPage> getAllUsers(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled
+    ) {
+        return ResponseEntity.ok(userService.getUsers(after, limit, role, enabled));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled
+    ) {
+        StreamingResponseBody body = out -> userService.exportUsers(role, enabled, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(
+            HttpServletRequest request,
+            Authentication authentication
+    ) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        InputStream in = request.getInputStream();
+        String actor = authentication.getName();
+        StreamingResponseBody body = out -> userImportService.importUsers(in, format, actor, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -72,4 +116,23 @@ public class UserController {
     ) {
         return ResponseEntity.ok(userService.changeUserRole(id, newRole));
     }
-}
\ No newline at end of file
+
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUserResult> updateUsersStatus(@RequestBody BulkUserRequest request) {
+        return ResponseEntity.ok(userService.updateUsersStatus(
+                request.getIds(), request.getEnabled(), request.getAccountLocked()));
+    }
+
+    @PutMapping("/bulk/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUserResult> changeUsersRole(@RequestBody BulkUserRequest request) {
+        return ResponseEntity.ok(userService.changeUsersRole(request.getIds(), request.getRole()));
+    }
+
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUserResult> deleteUsers(@RequestBody BulkUserRequest request) {
+        return ResponseEntity.ok(userService.deleteUsers(request.getIds()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.lassoued.springsecurity.domain;
+
+public enum AuditEventType {
+    REGISTER,
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    TOKEN_REFRESH,
+    LOGOUT,
+    USER_UPDATE,
+    ROLE_CHANGE,
+    USER_DELETE,
+    USER_IMPORT
+}
@@ -0,0 +1,19 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUserRequest {
+    private List<Integer> ids;
+    private Boolean enabled;
+    private Boolean accountLocked;
+    private Role role;
+}
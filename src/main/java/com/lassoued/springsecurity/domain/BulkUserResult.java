@@ -0,0 +1,15 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkUserResult {
+    int requested;
+    int matched;
+    int changed;
+    List<Integer> notFound;
+}
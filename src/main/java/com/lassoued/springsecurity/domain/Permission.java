@@ -1,5 +1,8 @@
 package com.lassoued.springsecurity.domain;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum Permission {
     USER_READ("user:read"),
     USER_UPDATE("user:update"),
@@ -10,13 +13,39 @@ public enum Permission {
     ADMIN_CREATE("admin:create"),
     ADMIN_DELETE("admin:delete");
 
+    private static final Map<String, Permission> BY_PERMISSION = new HashMap<>();
+    private static final Map<String, Map<String, Permission>> BY_DOMAIN_AND_ACTION = new HashMap<>();
+
+    static {
+        for (Permission permission : values()) {
+            BY_PERMISSION.put(permission.permission, permission);
+            String[] parts = permission.permission.split(":", 2);
+            BY_DOMAIN_AND_ACTION.computeIfAbsent(parts[0], domain -> new HashMap<>()).put(parts[1], permission);
+        }
+    }
+
     private final String permission;
+    private final long mask;
 
     Permission(String permission) {
         this.permission = permission;
+        this.mask = 1L << ordinal();
     }
 
     public String getPermission() {
         return permission;
     }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public static Permission fromPermission(String permission) {
+        return BY_PERMISSION.get(permission);
+    }
+
+    public static Permission fromDomainAndAction(String domain, String action) {
+        Map<String, Permission> actions = BY_DOMAIN_AND_ACTION.get(domain);
+        return actions != null ? actions.get(action) : null;
+    }
 }
@@ -0,0 +1,18 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class PurgeStatus {
+    boolean running;
+    boolean paused;
+    long totalDeleted;
+    long lastRunDeleted;
+    Instant lastRunStartedAt;
+    Instant lastRunFinishedAt;
+    double lastRunRowsPerSecond;
+}
@@ -10,18 +10,20 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "refresh_token")
+@Table(name = "refresh_token", indexes = @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at"))
 public class RefreshToken {
 
     @Id
     @GeneratedValue
     private Integer id;
 
-    @Column(unique = true, length = 512)
-    private String token;
+    @Column(name = "token_hash", unique = true, nullable = false, length = 32)
+    private byte[] tokenHash;
 
     private boolean revoked = false;
 
+    private int generation;
+
     @Column(name = "expires_at")
     private Instant expiresAt;
 
@@ -2,9 +2,11 @@ package com.lassoued.springsecurity.domain;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public enum Role {
     USER(
@@ -35,21 +37,32 @@ public enum Role {
     );
 
     private final Set<Permission> permissions;
+    private final long permissionMask;
+    private final List<SimpleGrantedAuthority> authorities;
 
     Role(Set<Permission> permissions) {
-        this.permissions = permissions;
+        this.permissions = Collections.unmodifiableSet(EnumSet.copyOf(permissions));
+        this.permissionMask = permissions.stream().mapToLong(Permission::getMask).reduce(0L, (a, b) -> a | b);
+
+        var authorities = new ArrayList<SimpleGrantedAuthority>();
+        this.permissions.forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.getPermission())));
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + this.name()));
+        this.authorities = List.copyOf(authorities);
     }
 
     public Set<Permission> getPermissions() {
         return permissions;
     }
 
+    public long getPermissionMask() {
+        return permissionMask;
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return (permissionMask & permission.getMask()) != 0;
+    }
+
     public List<SimpleGrantedAuthority> getAuthorities() {
-        var authorities = getPermissions()
-                .stream()
-                .map(permission -> new SimpleGrantedAuthority(permission.getPermission()))
-                .collect(Collectors.toList());
-        authorities.add(new SimpleGrantedAuthority("ROLE_" + this.name()));
         return authorities;
     }
 }
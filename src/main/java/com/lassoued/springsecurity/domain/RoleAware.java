@@ -0,0 +1,5 @@
+package com.lassoued.springsecurity.domain;
+
+public interface RoleAware {
+    Role getRole();
+}
@@ -0,0 +1,38 @@
+package com.lassoued.springsecurity.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "security_audit_event", indexes = @Index(name = "idx_security_audit_event_occurred_at", columnList = "occurred_at"))
+public class SecurityAuditEvent {
+
+    public static final int ACTOR_LENGTH = 255;
+    public static final int DETAIL_LENGTH = 512;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuditEventType type;
+
+    @Column(length = ACTOR_LENGTH)
+    private String actor;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(length = DETAIL_LENGTH)
+    private String detail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
@@ -0,0 +1,34 @@
+package com.lassoued.springsecurity.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Cluster-wide lifecycle of a configured signing key. Only the kid is stored; the key material
+// itself stays in configuration.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "signing_key_state", uniqueConstraints = @UniqueConstraint(columnNames = {"ring", "kid"}))
+public class SigningKeyState {
+
+    @Id
+    @GeneratedValue
+    private Integer id;
+
+    @Column(nullable = false, length = 16)
+    private String ring;
+
+    @Column(nullable = false)
+    private String kid;
+
+    private boolean active;
+
+    private boolean retired;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
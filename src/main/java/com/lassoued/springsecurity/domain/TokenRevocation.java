@@ -0,0 +1,32 @@
+package com.lassoued.springsecurity.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Shared record that a user's access tokens issued before notBefore must no longer be trusted from
+// their claims alone. Kept for one access-token lifetime so every node, and a restarted one, sees it.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "token_revocation", indexes = @Index(name = "idx_token_revocation_not_before", columnList = "not_before"))
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(generator = "token_revocation_seq", strategy = GenerationType.AUTO)
+    @SequenceGenerator(name = "token_revocation_seq", sequenceName = "token_revocation_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    // a deleted user stays blocked; otherwise older tokens are only re-checked against the database
+    @Column(name = "user_deleted", nullable = false)
+    private boolean userDeleted;
+
+    @Column(name = "not_before", nullable = false)
+    private Instant notBefore;
+}
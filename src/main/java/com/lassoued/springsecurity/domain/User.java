@@ -17,11 +17,11 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "_user")
-public class User implements UserDetails {
+public class User implements UserDetails, RoleAware {
 
     @Id
     @GeneratedValue(generator = "_user_seq" ,strategy = GenerationType.AUTO)
-    @SequenceGenerator(name = "_user_seq" ,sequenceName = "_user_seq" ,allocationSize = 1)
+    @SequenceGenerator(name = "_user_seq" ,sequenceName = "_user_seq" ,allocationSize = 50)
     private Integer id;
     private String firstname;
     private String lastname;
@@ -35,6 +35,9 @@ public class User implements UserDetails {
     private boolean accountLocked = false;
     private boolean enabled = true;
 
+    @Column(name = "token_generation", nullable = false)
+    private int tokenGeneration;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<RefreshToken> refreshTokens;
 
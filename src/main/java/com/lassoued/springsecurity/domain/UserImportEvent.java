@@ -0,0 +1,26 @@
+package com.lassoued.springsecurity.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportEvent {
+
+    public enum Type {
+        FAILURE,
+        PROGRESS,
+        COMPLETED
+    }
+
+    Type type;
+    Integer line;
+    String email;
+    String reason;
+    Long processed;
+    Long imported;
+    Long failed;
+    Long elapsedMillis;
+}
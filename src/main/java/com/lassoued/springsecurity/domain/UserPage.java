@@ -0,0 +1,17 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPage {
+    private List<UserResponse> users;
+    private Integer nextCursor;
+}
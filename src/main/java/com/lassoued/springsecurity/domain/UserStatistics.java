@@ -0,0 +1,18 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+@Builder
+public class UserStatistics {
+    long totalUsers;
+    Map<Role, Long> usersByRole;
+    long enabledUsers;
+    long lockedUsers;
+    long activeRefreshTokens;
+    Instant refreshedAt;
+}
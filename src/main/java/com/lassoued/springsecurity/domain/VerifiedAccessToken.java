@@ -0,0 +1,22 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+@Builder
+public class VerifiedAccessToken {
+    String subject;
+    Instant issuedAt;
+    Instant expiresAt;
+    String role;
+    List<String> permissions;
+    Integer userId;
+
+    public boolean isExpired() {
+        return Instant.now().isAfter(expiresAt);
+    }
+}
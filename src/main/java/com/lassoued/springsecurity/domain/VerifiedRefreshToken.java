@@ -0,0 +1,14 @@
+package com.lassoued.springsecurity.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class VerifiedRefreshToken {
+    String subject;
+    Instant expiresAt;
+    int generation;
+}
@@ -0,0 +1,12 @@
+package com.lassoued.springsecurity.exception;
+
+public class HashingCapacityExceededException extends RuntimeException {
+
+    public HashingCapacityExceededException() {
+        super("Too many concurrent password operations, please retry shortly");
+    }
+
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,18 +17,35 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
 
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.revoked = false AND rt.expiresAt > :now")
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.revoked = false AND rt.expiresAt > :now " +
+            "AND rt.generation = rt.user.tokenGeneration")
     List<RefreshToken> findAllValidTokensByUser(@Param("userId") Integer userId, @Param("now") Instant now);
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt " +
+            "WHERE rt.revoked = false AND rt.expiresAt > :now AND rt.generation = rt.user.tokenGeneration")
+    long countActiveTokens(@Param("now") Instant now);
+
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.generation = :generation " +
+            "AND rt.revoked = false AND rt.expiresAt > :now")
+    long countLiveTokensOfGeneration(@Param("userId") Integer userId, @Param("generation") int generation,
+                                     @Param("now") Instant now);
+
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id IN :userIds " +
+            "AND rt.revoked = false AND rt.expiresAt > :now AND rt.generation = rt.user.tokenGeneration")
+    long countActiveTokensByUserIdIn(@Param("userIds") Collection<Integer> userIds, @Param("now") Instant now);
 
     @Modifying
     @Transactional
-    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.user.id = :userId")
-    void revokeAllUserTokens(@Param("userId") Integer userId);
+    @Query(value = "DELETE FROM refresh_token WHERE id IN (" +
+            "SELECT id FROM refresh_token rt WHERE expires_at < :now OR revoked = true " +
+            "OR generation < (SELECT u.token_generation FROM _user u WHERE u.id = rt.user_id) " +
+            "ORDER BY expires_at LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
 
     @Modifying
-    @Transactional
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now OR rt.revoked = true")
-    void deleteExpiredTokens(@Param("now") Instant now);
-}
\ No newline at end of file
+    @Query("DELETE FROM RefreshToken rt WHERE rt.user.id IN :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+}
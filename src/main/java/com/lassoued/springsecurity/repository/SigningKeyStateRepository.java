@@ -0,0 +1,16 @@
+package com.lassoued.springsecurity.repository;
+
+import com.lassoued.springsecurity.domain.SigningKeyState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SigningKeyStateRepository extends JpaRepository<SigningKeyState, Integer> {
+
+    List<SigningKeyState> findAllByRing(String ring);
+
+    Optional<SigningKeyState> findByRingAndKid(String ring, String kid);
+}
@@ -0,0 +1,24 @@
+package com.lassoued.springsecurity.repository;
+
+import com.lassoued.springsecurity.domain.TokenRevocation;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    @Query("SELECT r FROM TokenRevocation r WHERE r.notBefore > :since")
+    List<TokenRevocation> findAllSince(@Param("since") Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.notBefore <= :before")
+    int deleteAllBefore(@Param("before") Instant before);
+}
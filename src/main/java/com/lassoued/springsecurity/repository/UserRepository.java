@@ -2,13 +2,21 @@ package com.lassoued.springsecurity.repository;
 
 import com.lassoued.springsecurity.domain.Role;
 import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.UserResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
@@ -16,4 +24,81 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     @Query("SELECT u FROM User u WHERE u.role = :role")
     List<User> findByRole(@Param("role") Role role);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenGeneration = u.tokenGeneration + 1 WHERE u.id = :userId")
+    int incrementTokenGeneration(@Param("userId") Integer userId);
+
+    @Query("SELECT u.tokenGeneration FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenGeneration(@Param("userId") Integer userId);
+
+    @Query("SELECT u.role AS role, COUNT(u) AS total, " +
+            "SUM(CASE WHEN u.enabled = true THEN 1 ELSE 0 END) AS enabled, " +
+            "SUM(CASE WHEN u.accountLocked = true THEN 1 ELSE 0 END) AS locked " +
+            "FROM User u GROUP BY u.role")
+    List<RoleStatistics> countByRole();
+
+    @Query("SELECT u.id FROM User u WHERE u.accountLocked = true OR u.enabled = false")
+    List<Integer> findBlockedUserIds();
+
+    @Query("SELECT new com.lassoued.springsecurity.domain.UserResponse(" +
+            "u.id, u.firstname, u.lastname, u.email, u.role, u.enabled, u.accountLocked) " +
+            "FROM User u " +
+            "WHERE u.id > :afterId " +
+            "AND (:role IS NULL OR u.role = :role) " +
+            "AND (:enabled IS NULL OR u.enabled = :enabled) " +
+            "ORDER BY u.id")
+    List<UserResponse> findPageAfter(
+            @Param("afterId") Integer afterId,
+            @Param("role") Role role,
+            @Param("enabled") Boolean enabled,
+            Pageable pageable
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.lassoued.springsecurity.domain.UserResponse(" +
+            "u.id, u.firstname, u.lastname, u.email, u.role, u.enabled, u.accountLocked) " +
+            "FROM User u " +
+            "WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:enabled IS NULL OR u.enabled = :enabled) " +
+            "ORDER BY u.id")
+    Stream<UserResponse> streamAll(@Param("role") Role role, @Param("enabled") Boolean enabled);
+
+    @Query("SELECT new com.lassoued.springsecurity.domain.UserResponse(" +
+            "u.id, u.firstname, u.lastname, u.email, u.role, u.enabled, u.accountLocked) " +
+            "FROM User u WHERE u.id IN :ids")
+    List<UserResponse> findAllResponsesById(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // the guards keep rows that already have the target value out of the write set
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = :enabled WHERE u.id IN :ids AND u.enabled <> :enabled")
+    int updateEnabled(@Param("ids") Collection<Integer> ids, @Param("enabled") boolean enabled);
+
+    @Modifying
+    @Query("UPDATE User u SET u.accountLocked = :locked WHERE u.id IN :ids AND u.accountLocked <> :locked")
+    int updateAccountLocked(@Param("ids") Collection<Integer> ids, @Param("locked") boolean locked);
+
+    @Modifying
+    @Query("UPDATE User u SET u.role = :role WHERE u.id IN :ids AND u.role <> :role")
+    int updateRole(@Param("ids") Collection<Integer> ids, @Param("role") Role role);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    interface RoleStatistics {
+        Role getRole();
+
+        long getTotal();
+
+        long getEnabled();
+
+        long getLocked();
+    }
 }
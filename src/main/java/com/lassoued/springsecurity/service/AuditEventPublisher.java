@@ -0,0 +1,111 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.domain.AuditEventType;
+import com.lassoued.springsecurity.domain.SecurityAuditEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class AuditEventPublisher {
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+
+    private final ConcurrentLinkedQueue<SecurityAuditEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final boolean enabled;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AuditEventPublisher(
+            @Value("${application.audit.enabled:true}") boolean enabled,
+            @Value("${application.audit.capacity:10000}") int capacity,
+            @Value("${application.audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy
+    ) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void publish(AuditEventType type, Integer userId, String detail) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        publish(type, authentication != null ? authentication.getName() : null, userId, detail);
+    }
+
+    public void publish(AuditEventType type, String actor, Integer userId, String detail) {
+        if (!enabled) {
+            return;
+        }
+        SecurityAuditEvent event = SecurityAuditEvent.builder()
+                .type(type)
+                // actor can be a login email straight from an unauthenticated request
+                .actor(truncate(actor, SecurityAuditEvent.ACTOR_LENGTH))
+                .userId(userId)
+                .detail(truncate(detail, SecurityAuditEvent.DETAIL_LENGTH))
+                .occurredAt(Instant.now())
+                .build();
+
+        if (size.incrementAndGet() > capacity) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null) {
+                // the slot freed by the evicted event is reused by the new one
+                dropped.increment();
+            } else {
+                size.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+        }
+        buffer.offer(event);
+        published.increment();
+    }
+
+    public int drainTo(List<SecurityAuditEvent> batch, int maxEvents) {
+        int drained = 0;
+        SecurityAuditEvent event;
+        while (drained < maxEvents && (event = buffer.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int getBufferedCount() {
+        return Math.max(0, size.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public Duration getLag() {
+        SecurityAuditEvent oldest = buffer.peek();
+        return oldest != null ? Duration.between(oldest.getOccurredAt(), Instant.now()) : Duration.ZERO;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
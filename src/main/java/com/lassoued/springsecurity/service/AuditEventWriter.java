@@ -0,0 +1,137 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.domain.SecurityAuditEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@DependsOn("entityManagerFactory")
+public class AuditEventWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO security_audit_event " +
+            "(type, actor, user_id, detail, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final AuditEventPublisher publisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public AuditEventWriter(
+            AuditEventPublisher publisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.audit.batch-size:500}") int batchSize
+    ) {
+        this.publisher = publisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${application.audit.flush-interval:PT1S}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void drainAll() {
+        List<SecurityAuditEvent> batch = new ArrayList<>(batchSize);
+        while (publisher.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<SecurityAuditEvent> batch) {
+        try {
+            insert(batch);
+            written.add(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // one bad row fails the whole batch; retry row by row so that only that row is lost
+            writeOneByOne(batch);
+        } catch (RuntimeException e) {
+            // events are not re-queued so a failing database cannot grow the buffer without bound
+            failed.add(batch.size());
+            log.warn("Dropped {} audit events after a failed batch insert", batch.size(), e);
+        }
+    }
+
+    private void writeOneByOne(List<SecurityAuditEvent> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            SecurityAuditEvent event = batch.get(i);
+            try {
+                insert(List.of(event));
+                written.increment();
+            } catch (DataIntegrityViolationException e) {
+                failed.increment();
+                log.warn("Dropped a {} audit event: {}", event.getType(), e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                failed.add(batch.size() - i);
+                log.warn("Dropped {} audit events after a failed insert", batch.size() - i, e);
+                return;
+            }
+        }
+    }
+
+    private void insert(List<SecurityAuditEvent> events) {
+        // in one transaction, so that a failed batch leaves no partial rows behind to be retried twice
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+                    ps.setString(1, event.getType().name());
+                    ps.setString(2, event.getActor());
+                    if (event.getUserId() != null) {
+                        ps.setInt(3, event.getUserId());
+                    } else {
+                        ps.setNull(3, Types.INTEGER);
+                    }
+                    ps.setString(4, event.getDetail());
+                    ps.setTimestamp(5, Timestamp.from(event.getOccurredAt()));
+                }));
+    }
+}
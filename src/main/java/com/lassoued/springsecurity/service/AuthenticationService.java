@@ -1,6 +1,7 @@
 package com.lassoued.springsecurity.service;
 
 import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.TokenDigest;
 import com.lassoued.springsecurity.domain.*;
 import com.lassoued.springsecurity.exception.UserAlreadyExistException;
 import com.lassoued.springsecurity.repository.RefreshTokenRepository;
@@ -14,8 +15,10 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.stream.Collectors;
@@ -30,6 +33,11 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserStatisticsService userStatisticsService;
+    private final SessionRevocationService sessionRevocationService;
+    private final AuditEventPublisher auditEventPublisher;
+    private final RefreshTokenCoalescer refreshTokenCoalescer;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthenticationResponse register(RegisterRequest request) {
             var user = User.builder()
@@ -43,12 +51,19 @@ public class AuthenticationService {
                     .build();
 
         try{
-            var savedUser = userRepository.save(user);
-            var accessToken = jwtService.generateToken(savedUser);
-            var refreshToken = jwtService.generateRefreshToken(savedUser);
-
-            saveRefreshToken(savedUser, refreshToken);
-            return buildAuthResponse(accessToken, refreshToken, savedUser);
+            // the user and its first refresh token commit together; the hash above stays outside
+            return transactionTemplate.execute(status -> {
+                var savedUser = userRepository.save(user);
+                var accessToken = jwtService.generateToken(savedUser);
+                var refreshToken = jwtService.generateRefreshToken(savedUser);
+
+                saveRefreshToken(savedUser, refreshToken);
+                AfterCommit.run(() -> {
+                    userStatisticsService.userCreated(savedUser);
+                    auditEventPublisher.publish(AuditEventType.REGISTER, savedUser.getEmail(), savedUser.getId(), savedUser.getRole().name());
+                });
+                return buildAuthResponse(accessToken, refreshToken, savedUser);
+            });
 
         }
         catch (Exception e){
@@ -56,23 +71,34 @@ public class AuthenticationService {
         }}
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            auditEventPublisher.publish(AuditEventType.LOGIN_FAILURE, request.getEmail(), null, e.getClass().getSimpleName());
+            throw e;
+        }
 
         var user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow();
 
-        var accessToken = jwtService.generateToken(user);
-        var refreshToken = jwtService.generateRefreshToken(user);
+        // the revocation and the new refresh token commit together
+        return transactionTemplate.execute(status -> {
+            // a new login ends every previous session of the user
+            user.setTokenGeneration(sessionRevocationService.revokeAllSessions(user.getId()));
+
+            var accessToken = jwtService.generateToken(user);
+            var refreshToken = jwtService.generateRefreshToken(user);
 
-        revokeAllUserTokens(user);
-        saveRefreshToken(user, refreshToken);
+            saveRefreshToken(user, refreshToken);
+            AfterCommit.run(() -> auditEventPublisher.publish(AuditEventType.LOGIN_SUCCESS, user.getEmail(), user.getId(), null));
 
-        return buildAuthResponse(accessToken, refreshToken, user);
+            return buildAuthResponse(accessToken, refreshToken, user);
+        });
     }
 
     public AuthenticationResponse refreshToken(HttpServletRequest request) {
@@ -83,23 +109,24 @@ public class AuthenticationService {
         }
 
         String refreshToken = authHeader.substring(7);
+        byte[] tokenHash = TokenDigest.sha256(refreshToken);
+        String tokenKey = TokenDigest.key(tokenHash);
+        return refreshTokenCoalescer.redeem(tokenKey, () -> redeemRefreshToken(refreshToken, tokenHash));
+    }
 
+    private AuthenticationResponse redeemRefreshToken(String refreshToken, byte[] tokenHash) {
         try {
-            String userEmail = jwtService.extractUsernameFromRefreshToken(refreshToken);
-
-            if (userEmail != null) {
-                var user = userRepository.findByEmail(userEmail).orElseThrow();
-                var refreshTokenEntity = refreshTokenRepository.findByToken(refreshToken).orElse(null);
-
-                if (refreshTokenEntity != null &&
-                        !refreshTokenEntity.isRevoked() &&
-                        !refreshTokenEntity.isExpired() &&
-                        jwtService.isRefreshTokenValid(refreshToken, user)) {
+            VerifiedRefreshToken verified = jwtService.verifyRefreshToken(refreshToken);
+            var refreshTokenEntity = refreshTokenRepository
+                    .findWithUserByTokenHash(tokenHash)
+                    .orElse(null);
 
-                    var accessToken = jwtService.generateToken(user);
+            if (refreshTokenEntity != null && isRedeemable(refreshTokenEntity, verified)) {
+                var user = refreshTokenEntity.getUser();
+                var accessToken = jwtService.generateToken(user);
+                auditEventPublisher.publish(AuditEventType.TOKEN_REFRESH, user.getEmail(), user.getId(), null);
 
-                    return buildAuthResponse(accessToken, refreshToken, user);
-                }
+                return buildAuthResponse(accessToken, refreshToken, user);
             }
         } catch (Exception e) {
             return null;
@@ -108,6 +135,17 @@ public class AuthenticationService {
         return null;
     }
 
+    private boolean isRedeemable(RefreshToken refreshTokenEntity, VerifiedRefreshToken verified) {
+        User user = refreshTokenEntity.getUser();
+        return !refreshTokenEntity.isRevoked()
+                && !refreshTokenEntity.isExpired()
+                && user.getEmail().equals(verified.getSubject())
+                && user.isEnabled()
+                && user.isAccountNonLocked()
+                && refreshTokenEntity.getGeneration() == user.getTokenGeneration()
+                && verified.getGeneration() == user.getTokenGeneration();
+    }
+
     public void logout(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
 
@@ -118,13 +156,15 @@ public class AuthenticationService {
         String jwt = authHeader.substring(7);
 
         try {
-            String userEmail = jwtService.extractUsername(jwt);
+            VerifiedAccessToken token = jwtService.verifyAccessToken(jwt);
+            Integer userId = token.getUserId();
 
-            if (userEmail != null) {
-                var user = userRepository.findByEmail(userEmail).orElse(null);
-                if (user != null) {
-                    revokeAllUserTokens(user);
-                }
+            if (userId == null && token.getSubject() != null) {
+                userId = userRepository.findByEmail(token.getSubject()).map(User::getId).orElse(null);
+            }
+            if (userId != null) {
+                sessionRevocationService.revokeAllSessions(userId);
+                auditEventPublisher.publish(AuditEventType.LOGOUT, token.getSubject(), userId, null);
             }
         } catch (Exception e) {
             // Token might be expired, just ignore
@@ -145,18 +185,12 @@ public class AuthenticationService {
     private void saveRefreshToken(User user, String refreshToken) {
         var token = RefreshToken.builder()
                 .user(user)
-                .token(refreshToken)
+                .tokenHash(TokenDigest.sha256(refreshToken))
+                .generation(user.getTokenGeneration())
                 .expiresAt(Instant.now().plusSeconds(604800))
                 .revoked(false)
                 .build();
         refreshTokenRepository.save(token);
-    }
-
-    private void revokeAllUserTokens(User user) {
-        refreshTokenRepository.revokeAllUserTokens(user.getId());
-    }
-
-    public void cleanupExpiredTokens() {
-        refreshTokenRepository.deleteExpiredTokens(Instant.now());
+        AfterCommit.run(userStatisticsService::refreshTokenIssued);
     }
 }
@@ -0,0 +1,54 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.config.KeyedRateLimiter;
+import com.lassoued.springsecurity.exception.TooManyLoginAttemptsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class LoginThrottleService {
+
+    private final boolean enabled;
+    private final KeyedRateLimiter emailLimiter;
+    private final KeyedRateLimiter clientLimiter;
+
+    public LoginThrottleService(
+            @Value("${application.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${application.security.login-throttle.buckets:131072}") int buckets,
+            @Value("${application.security.login-throttle.email.limit:10}") int emailLimit,
+            @Value("${application.security.login-throttle.email.period:PT1M}") Duration emailPeriod,
+            @Value("${application.security.login-throttle.email.burst:5}") int emailBurst,
+            @Value("${application.security.login-throttle.client.limit:60}") int clientLimit,
+            @Value("${application.security.login-throttle.client.period:PT1M}") Duration clientPeriod,
+            @Value("${application.security.login-throttle.client.burst:20}") int clientBurst
+    ) {
+        this.enabled = enabled;
+        this.emailLimiter = new KeyedRateLimiter(emailLimit, emailPeriod, emailBurst, buckets);
+        this.clientLimiter = new KeyedRateLimiter(clientLimit, clientPeriod, clientBurst, buckets);
+    }
+
+    public void checkLoginAttempt(String email, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = clientLimiter.tryAcquire(clientAddress != null ? clientAddress : "");
+        if (waitNanos == 0) {
+            waitNanos = emailLimiter.tryAcquire(email != null ? email.trim().toLowerCase(Locale.ROOT) : "");
+        }
+        if (waitNanos > 0) {
+            throw new TooManyLoginAttemptsException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+    }
+
+    public KeyedRateLimiter getEmailLimiter() {
+        return emailLimiter;
+    }
+
+    public KeyedRateLimiter getClientLimiter() {
+        return clientLimiter;
+    }
+}
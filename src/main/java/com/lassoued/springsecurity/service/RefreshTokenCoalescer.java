@@ -0,0 +1,97 @@
+package com.lassoued.springsecurity.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lassoued.springsecurity.domain.AuthenticationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Concurrent redemptions of one refresh token share a single computation, and a successful result
+// is handed out again for a short window. Rejections (null) are shared with in-flight waiters only.
+// A reused response repeats an access token minted at most one window earlier; it grants nothing
+// the first caller did not already receive.
+@Component
+public class RefreshTokenCoalescer {
+
+    private final boolean enabled;
+    private final AsyncCache<String, AuthenticationResponse> results;
+
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    public RefreshTokenCoalescer(
+            @Value("${application.security.refresh-coalescing.enabled:true}") boolean enabled,
+            @Value("${application.security.refresh-coalescing.reuse-window:PT2S}") Duration reuseWindow,
+            @Value("${application.security.refresh-coalescing.max-size:10000}") long maxSize
+    ) {
+        this.enabled = enabled;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(reuseWindow)
+                .buildAsync();
+    }
+
+    public AuthenticationResponse redeem(String tokenKey, Supplier<AuthenticationResponse> redemption) {
+        if (!enabled) {
+            return redemption.get();
+        }
+        CompletableFuture<AuthenticationResponse> computing = new CompletableFuture<>();
+        CompletableFuture<AuthenticationResponse> existing = results.asMap().putIfAbsent(tokenKey, computing);
+        if (existing != null) {
+            (existing.isDone() ? reused : coalesced).increment();
+            return join(existing);
+        }
+        computed.increment();
+        try {
+            AuthenticationResponse response = redemption.get();
+            computing.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // any failure, Errors included, must release the waiters and the slot
+            results.asMap().remove(tokenKey, computing);
+            computing.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        results.synchronous().invalidateAll();
+    }
+
+    public long size() {
+        return results.synchronous().estimatedSize();
+    }
+
+    public long getComputedCount() {
+        return computed.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    private static AuthenticationResponse join(CompletableFuture<AuthenticationResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
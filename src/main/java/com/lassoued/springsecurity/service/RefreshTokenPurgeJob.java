@@ -0,0 +1,129 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.domain.PurgeStatus;
+import com.lassoued.springsecurity.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long minBatchIntervalNanos;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean paused = new AtomicBoolean();
+    private final AtomicLong totalDeleted = new AtomicLong();
+    private final AtomicLong batchesExecuted = new AtomicLong();
+    private volatile long lastRunDeleted;
+    private volatile Instant lastRunStartedAt;
+    private volatile Instant lastRunFinishedAt;
+    private volatile double lastRunRowsPerSecond;
+
+    public RefreshTokenPurgeJob(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${application.refresh-token-purge.enabled:true}") boolean enabled,
+            @Value("${application.refresh-token-purge.batch-size:1000}") int batchSize,
+            @Value("${application.refresh-token-purge.max-batches-per-second:10}") double maxBatchesPerSecond
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.minBatchIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / maxBatchesPerSecond);
+    }
+
+    @Scheduled(
+            initialDelayString = "${application.refresh-token-purge.initial-delay:PT1M}",
+            fixedDelayString = "${application.refresh-token-purge.interval:PT10M}"
+    )
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    @Async
+    public void trigger() {
+        run();
+    }
+
+    public void pause() {
+        paused.set(true);
+    }
+
+    public void resume() {
+        paused.set(false);
+    }
+
+    public PurgeStatus status() {
+        return PurgeStatus.builder()
+                .running(running.get())
+                .paused(paused.get())
+                .totalDeleted(totalDeleted.get())
+                .lastRunDeleted(lastRunDeleted)
+                .lastRunStartedAt(lastRunStartedAt)
+                .lastRunFinishedAt(lastRunFinishedAt)
+                .lastRunRowsPerSecond(lastRunRowsPerSecond)
+                .build();
+    }
+
+    public long getBatchesExecuted() {
+        return batchesExecuted.get();
+    }
+
+    void run() {
+        if (paused.get() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Instant startedAt = Instant.now();
+        long deletedThisRun = 0;
+        lastRunStartedAt = startedAt;
+        try {
+            while (!paused.get() && !Thread.currentThread().isInterrupted()) {
+                long batchStartedAt = System.nanoTime();
+                int deleted = refreshTokenRepository.deleteExpiredBatch(Instant.now(), batchSize);
+                batchesExecuted.incrementAndGet();
+                deletedThisRun += deleted;
+                totalDeleted.addAndGet(deleted);
+                lastRunDeleted = deletedThisRun;
+                if (deleted < batchSize) {
+                    break;
+                }
+                throttle(batchStartedAt);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refresh token purge stopped after deleting {} rows", deletedThisRun, e);
+        } finally {
+            Instant finishedAt = Instant.now();
+            long elapsedMillis = Math.max(1, Duration.between(startedAt, finishedAt).toMillis());
+            lastRunFinishedAt = finishedAt;
+            lastRunRowsPerSecond = deletedThisRun * 1000.0 / elapsedMillis;
+            running.set(false);
+        }
+    }
+
+    private void throttle(long batchStartedAt) {
+        long remaining = minBatchIntervalNanos - (System.nanoTime() - batchStartedAt);
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
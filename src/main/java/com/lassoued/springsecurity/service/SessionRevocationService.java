@@ -0,0 +1,29 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.repository.RefreshTokenRepository;
+import com.lassoued.springsecurity.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class SessionRevocationService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserStatisticsService userStatisticsService;
+
+    @Transactional
+    public int revokeAllSessions(Integer userId) {
+        userRepository.incrementTokenGeneration(userId);
+        // read back inside the same transaction so concurrent logins each see their own increment
+        int generation = userRepository.findTokenGeneration(userId).orElseThrow();
+        // the increment holds the user's row lock, so each superseded token is counted by one revocation only
+        long revoked = refreshTokenRepository.countLiveTokensOfGeneration(userId, generation - 1, Instant.now());
+        AfterCommit.run(() -> userStatisticsService.refreshTokensRevoked(revoked));
+        return generation;
+    }
+}
@@ -0,0 +1,110 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.config.JwtKeyRing;
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.config.VerifiedTokenCache;
+import com.lassoued.springsecurity.domain.SigningKeyState;
+import com.lassoued.springsecurity.repository.SigningKeyStateRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Activation and retirement of configured signing keys, shared through the database so that every
+// node, including one that restarts, signs with the same key and rejects the same retired keys.
+// Rotation: configure the new key everywhere, activate it, then retire the old one once the
+// tokens it signed have expired.
+@Service
+@RequiredArgsConstructor
+public class SigningKeyService {
+
+    private static final List<String> RINGS = List.of("access", "refresh");
+
+    private final SigningKeyStateRepository signingKeyStateRepository;
+    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RefreshTokenCoalescer refreshTokenCoalescer;
+
+    @Transactional
+    public void activate(String ring, String kid) {
+        JwtKeyRing keyRing = keyRing(ring);
+        if (!keyRing.isConfigured(kid)) {
+            throw new IllegalArgumentException("Key '" + kid + "' is not configured for the " + ring + " ring");
+        }
+        SigningKeyState target = stateFor(ring, kid);
+        if (target.isRetired()) {
+            throw new IllegalArgumentException("Key '" + kid + "' has been retired");
+        }
+        Instant now = Instant.now();
+        for (SigningKeyState state : signingKeyStateRepository.findAllByRing(ring)) {
+            if (state.isActive()) {
+                state.setActive(false);
+                state.setUpdatedAt(now);
+            }
+        }
+        target.setActive(true);
+        target.setUpdatedAt(now);
+        signingKeyStateRepository.save(target);
+        sync(ring);
+    }
+
+    @Transactional
+    public void retire(String ring, String kid) {
+        JwtKeyRing keyRing = keyRing(ring);
+        if (!keyRing.isConfigured(kid)) {
+            throw new IllegalArgumentException("Key '" + kid + "' is not configured for the " + ring + " ring");
+        }
+        if (kid.equals(keyRing.getActiveKey().getKid())) {
+            throw new IllegalArgumentException("Cannot retire the active key '" + kid + "'");
+        }
+        SigningKeyState target = stateFor(ring, kid);
+        target.setRetired(true);
+        target.setActive(false);
+        target.setUpdatedAt(Instant.now());
+        signingKeyStateRepository.save(target);
+        sync(ring);
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.keys.sync-interval:PT30S}")
+    public void sync() {
+        RINGS.forEach(this::sync);
+    }
+
+    private void sync(String ring) {
+        List<SigningKeyState> states = signingKeyStateRepository.findAllByRing(ring);
+        // concurrent activations on two nodes: the later one wins everywhere
+        String activeKid = states.stream()
+                .filter(SigningKeyState::isActive)
+                .max(Comparator.comparing(SigningKeyState::getUpdatedAt))
+                .map(SigningKeyState::getKid)
+                .orElse(null);
+        Set<String> retiredKids = states.stream()
+                .filter(SigningKeyState::isRetired)
+                .map(SigningKeyState::getKid)
+                .collect(Collectors.toSet());
+        if (keyRing(ring).apply(activeKid, retiredKids)) {
+            // cached verifications may have been made with a key that is now retired
+            verifiedTokenCache.invalidateAll();
+            refreshTokenCoalescer.invalidateAll();
+        }
+    }
+
+    private SigningKeyState stateFor(String ring, String kid) {
+        return signingKeyStateRepository.findByRingAndKid(ring, kid)
+                .orElseGet(() -> SigningKeyState.builder().ring(ring).kid(kid).build());
+    }
+
+    public JwtKeyRing keyRing(String ring) {
+        return switch (ring) {
+            case "access" -> jwtService.getAccessKeyRing();
+            case "refresh" -> jwtService.getRefreshKeyRing();
+            default -> throw new IllegalArgumentException("Unknown key ring '" + ring + "'");
+        };
+    }
+}
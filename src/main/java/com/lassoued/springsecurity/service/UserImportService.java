@@ -0,0 +1,435 @@
+package com.lassoued.springsecurity.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lassoued.springsecurity.config.BoundedPasswordEncoder;
+import com.lassoued.springsecurity.domain.AuditEventType;
+import com.lassoued.springsecurity.domain.RegisterRequest;
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.UserImportEvent;
+import com.lassoued.springsecurity.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+// Rows are read, hashed and inserted one chunk at a time, so memory is bounded by the chunk size
+// and not by the size of the upload. Each chunk commits on its own; a bad row only fails itself.
+@Service
+public class UserImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final UserRepository userRepository;
+    private final UserStatisticsService userStatisticsService;
+    private final AuditEventPublisher auditEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder hasher;
+    private final ForkJoinPool hashingPool;
+    private final int chunkSize;
+    private final int maxLineLength;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserImportService(
+            UserRepository userRepository,
+            UserStatisticsService userStatisticsService,
+            AuditEventPublisher auditEventPublisher,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            BoundedPasswordEncoder passwordEncoder,
+            @Value("${application.users.import.chunk-size:500}") int chunkSize,
+            @Value("${application.users.import.parallelism:0}") int parallelism,
+            @Value("${application.users.import.max-line-length:8192}") int maxLineLength
+    ) {
+        this.userRepository = userRepository;
+        this.userStatisticsService = userStatisticsService;
+        this.auditEventPublisher = auditEventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the login pool is sized for short interactive bursts, so imports hash on their own pool
+        this.hasher = passwordEncoder.getDelegate();
+        this.chunkSize = chunkSize;
+        this.maxLineLength = maxLineLength;
+        this.hashingPool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("user-import-hashing-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null,
+                false
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    public void importUsers(InputStream in, Format format, String actor, OutputStream out) throws IOException {
+        ImportRun run = new ImportRun(format, actor, out);
+        LineReader reader = new LineReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), maxLineLength);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.isTruncated()) {
+                String reason = "Row exceeds " + maxLineLength + " characters";
+                if (format == Format.CSV && run.columns == null) {
+                    run.fail(lineNumber, null, reason);
+                    break;
+                }
+                run.processed++;
+                run.fail(lineNumber, null, reason);
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && run.columns == null) {
+                try {
+                    run.columns = parseHeader(line);
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    run.fail(lineNumber, null, e.getMessage());
+                    break;
+                }
+            }
+            run.processed++;
+            try {
+                chunk.add(new ImportRow(lineNumber, run.parse(line)));
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                run.fail(lineNumber, null, "Malformed row: " + e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+        run.emit(run.progress(UserImportEvent.Type.COMPLETED));
+        out.flush();
+    }
+
+    private void importChunk(List<ImportRow> rows, ImportRun run) throws IOException {
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : rows) {
+            String reason = validate(row.request);
+            if (reason == null && !emails.add(row.request.getEmail())) {
+                reason = "Duplicate email in import";
+            }
+            if (reason != null) {
+                run.fail(row.line, row.request.getEmail(), reason);
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        // checked before hashing so that rejected rows do not cost a BCrypt round
+        Set<String> existing = emails.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emails));
+        List<ImportRow> fresh = new ArrayList<>(accepted.size());
+        for (ImportRow row : accepted) {
+            if (existing.contains(row.request.getEmail())) {
+                run.fail(row.line, row.request.getEmail(), "Email already registered");
+            } else {
+                fresh.add(row);
+            }
+        }
+
+        hash(fresh);
+        List<ImportRow> hashed = new ArrayList<>(fresh.size());
+        for (ImportRow row : fresh) {
+            if (row.passwordHash != null) {
+                hashed.add(row);
+            } else {
+                run.fail(row.line, row.request.getEmail(), "Password hashing failed");
+            }
+        }
+
+        List<User> inserted = insert(hashed, run);
+        for (User user : inserted) {
+            userStatisticsService.userCreated(user);
+            auditEventPublisher.publish(AuditEventType.USER_IMPORT, run.actor, user.getId(), user.getEmail());
+        }
+        run.imported += inserted.size();
+        run.emit(run.progress(UserImportEvent.Type.PROGRESS));
+        run.out.flush();
+    }
+
+    private void hash(List<ImportRow> rows) {
+        try {
+            hashingPool.submit(() -> rows.parallelStream().forEach(row -> {
+                try {
+                    row.passwordHash = hasher.encode(row.request.getPassword());
+                } catch (RuntimeException e) {
+                    row.passwordHash = null;
+                }
+                row.request.setPassword(null);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private List<User> insert(List<ImportRow> rows, ImportRun run) throws IOException {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> saveAndDetach(rows));
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer took one of the emails; retry row by row to isolate it
+            List<User> inserted = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                try {
+                    inserted.addAll(transactionTemplate.execute(status -> saveAndDetach(List.of(row))));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    run.fail(row.line, row.request.getEmail(), "Email already registered");
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private List<User> saveAndDetach(List<ImportRow> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            users.add(User.builder()
+                    .firstname(row.request.getFirstname())
+                    .lastname(row.request.getLastname())
+                    .email(row.request.getEmail())
+                    .password(row.passwordHash)
+                    .role(row.request.getRole() != null ? row.request.getRole() : Role.USER)
+                    .enabled(true)
+                    .accountLocked(false)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        entityManager.flush();
+        entityManager.clear();
+        return users;
+    }
+
+    private static String validate(RegisterRequest request) {
+        if (request.getEmail() == null || request.getEmail().isBlank() || request.getEmail().indexOf('@') < 1) {
+            return "Invalid email";
+        }
+        if (request.getPassword() == null || request.getPassword().isEmpty()) {
+            return "Password is required";
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("email") || !columns.containsKey("password")) {
+            throw new IllegalArgumentException("CSV header must contain email and password columns");
+        }
+        return columns;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private final class ImportRun {
+        private final Format format;
+        private final String actor;
+        private final OutputStream out;
+        private final ObjectReader reader = objectMapper.readerFor(RegisterRequest.class);
+        private final ObjectWriter writer = objectMapper.writerFor(UserImportEvent.class);
+        private final long startedAt = System.nanoTime();
+        private Map<String, Integer> columns;
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private ImportRun(Format format, String actor, OutputStream out) {
+            this.format = format;
+            this.actor = actor;
+            this.out = out;
+        }
+
+        private RegisterRequest parse(String line) throws JsonProcessingException {
+            if (format == Format.NDJSON) {
+                RegisterRequest request = reader.readValue(line);
+                if (request == null) {
+                    throw new IllegalArgumentException("expected a JSON object");
+                }
+                return request;
+            }
+            List<String> fields = parseCsvLine(line);
+            String role = field(fields, "role");
+            RegisterRequest request = new RegisterRequest();
+            request.setFirstname(field(fields, "firstname"));
+            request.setLastname(field(fields, "lastname"));
+            request.setEmail(field(fields, "email"));
+            request.setPassword(field(fields, "password"));
+            request.setRole(role != null ? Role.valueOf(role.toUpperCase(Locale.ROOT)) : Role.USER);
+            return request;
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private void fail(int line, String email, String reason) throws IOException {
+            failed++;
+            emit(UserImportEvent.builder()
+                    .type(UserImportEvent.Type.FAILURE)
+                    .line(line)
+                    .email(email)
+                    .reason(reason)
+                    .build());
+        }
+
+        private UserImportEvent progress(UserImportEvent.Type type) {
+            return UserImportEvent.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .elapsedMillis((System.nanoTime() - startedAt) / 1_000_000)
+                    .build();
+        }
+
+        private void emit(UserImportEvent event) throws IOException {
+            out.write(writer.writeValueAsBytes(event));
+            out.write('\n');
+        }
+    }
+
+    // Like BufferedReader.readLine, but a row longer than the limit is skipped to its end instead
+    // of being buffered whole, so one unterminated row cannot exhaust the heap.
+    static final class LineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean truncated;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String readLine() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            // one extra char is kept so that a trailing '\r' does not count against the limit
+            for (; c != -1 && c != '\n'; c = in.read()) {
+                if (line.length() <= maxLength) {
+                    line.append((char) c);
+                } else {
+                    truncated = true;
+                }
+            }
+            if (!truncated && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (line.length() > maxLength) {
+                truncated = true;
+                return "";
+            }
+            return line.toString();
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private static final class ImportRow {
+        private final int line;
+        private final RegisterRequest request;
+        private volatile String passwordHash;
+
+        private ImportRow(int line, RegisterRequest request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
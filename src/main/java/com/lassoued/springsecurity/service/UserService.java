@@ -1,27 +1,84 @@
 package com.lassoued.springsecurity.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lassoued.springsecurity.config.CachedUserDetailsService;
+import com.lassoued.springsecurity.domain.AuditEventType;
+import com.lassoued.springsecurity.domain.BulkUserResult;
 import com.lassoued.springsecurity.domain.Role;
 import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.UserPage;
 import com.lassoued.springsecurity.domain.UserResponse;
+import com.lassoued.springsecurity.repository.RefreshTokenRepository;
 import com.lassoued.springsecurity.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    // keeps each IN list well below the driver's bind parameter limit
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserStatusRegistry userStatusRegistry;
+    private final CachedUserDetailsService userDetailsService;
+    private final ObjectMapper objectMapper;
+    private final UserStatisticsService userStatisticsService;
+    private final AuditEventPublisher auditEventPublisher;
+
+    public UserPage getUsers(Integer afterId, int limit, Role role, Boolean enabled) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<UserResponse> users = userRepository.findPageAfter(
+                afterId != null ? afterId : 0,
+                role,
+                enabled,
+                PageRequest.of(0, pageSize + 1)
+        );
 
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+        Integer nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return UserPage.builder()
+                .users(users)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public void exportUsers(Role role, Boolean enabled, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class);
+        try (Stream<UserResponse> users = userRepository.streamAll(role, enabled)) {
+            Iterator<UserResponse> iterator = users.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
     }
 
     public UserResponse getUserById(Integer id) {
@@ -40,31 +97,166 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        boolean wasEnabled = user.isEnabled();
+        boolean wasLocked = user.isAccountLocked();
         user.setFirstname(updateRequest.getFirstname());
         user.setLastname(updateRequest.getLastname());
         user.setEnabled(updateRequest.isEnabled());
         user.setAccountLocked(updateRequest.isAccountLocked());
 
         User updatedUser = userRepository.save(user);
+        userDetailsService.evict(updatedUser.getEmail());
+        boolean nowEnabled = updatedUser.isEnabled();
+        boolean nowLocked = updatedUser.isAccountLocked();
+        AfterCommit.run(() -> {
+            userStatisticsService.statusChanged(wasEnabled, wasLocked, nowEnabled, nowLocked);
+            auditEventPublisher.publish(AuditEventType.USER_UPDATE, id, "enabled=" + nowEnabled + ", accountLocked=" + nowLocked);
+        });
+        if (updatedUser.isEnabled() && !updatedUser.isAccountLocked()) {
+            userStatusRegistry.markActive(id);
+        } else {
+            userStatusRegistry.markBlocked(id);
+        }
         return mapToUserResponse(updatedUser);
     }
 
     public void deleteUser(Integer id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found");
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        long revoked = refreshTokenRepository.countActiveTokensByUserIdIn(List.of(id), Instant.now());
+        userRepository.delete(user);
+        userDetailsService.evict(user.getEmail());
+        AfterCommit.run(() -> {
+            userStatisticsService.refreshTokensRevoked(revoked);
+            userStatisticsService.userDeleted(user);
+            auditEventPublisher.publish(AuditEventType.USER_DELETE, id, user.getEmail());
+        });
+        userStatusRegistry.markDeleted(id);
     }
 
     public UserResponse changeUserRole(Integer id, Role newRole) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        Role oldRole = user.getRole();
         user.setRole(newRole);
         User updatedUser = userRepository.save(user);
+        userDetailsService.evict(updatedUser.getEmail());
+        AfterCommit.run(() -> {
+            userStatisticsService.roleChanged(oldRole, newRole);
+            auditEventPublisher.publish(AuditEventType.ROLE_CHANGE, id, oldRole + " -> " + newRole);
+        });
+        userStatusRegistry.invalidateIssuedTokens(id);
         return mapToUserResponse(updatedUser);
     }
 
+    public BulkUserResult updateUsersStatus(List<Integer> ids, Boolean enabled, Boolean accountLocked) {
+        if (enabled == null && accountLocked == null) {
+            throw new IllegalArgumentException("Either enabled or accountLocked must be set");
+        }
+        return applyInChunks(ids, (chunk, users) -> {
+            if (enabled != null) {
+                userRepository.updateEnabled(chunk, enabled);
+            }
+            if (accountLocked != null) {
+                userRepository.updateAccountLocked(chunk, accountLocked);
+            }
+            List<String> changed = new ArrayList<>();
+            for (UserResponse user : users) {
+                boolean nowEnabled = enabled != null ? enabled : user.isEnabled();
+                boolean nowLocked = accountLocked != null ? accountLocked : user.isAccountLocked();
+                if (nowEnabled == user.isEnabled() && nowLocked == user.isAccountLocked()) {
+                    continue;
+                }
+                changed.add(user.getEmail());
+                AfterCommit.run(() -> {
+                    userStatisticsService.statusChanged(user.isEnabled(), user.isAccountLocked(), nowEnabled, nowLocked);
+                    auditEventPublisher.publish(AuditEventType.USER_UPDATE, user.getId(),
+                            "enabled=" + nowEnabled + ", accountLocked=" + nowLocked);
+                });
+                if (nowEnabled && !nowLocked) {
+                    userStatusRegistry.markActive(user.getId());
+                } else {
+                    userStatusRegistry.markBlocked(user.getId());
+                }
+            }
+            userDetailsService.evict(changed);
+            return changed.size();
+        });
+    }
+
+    public BulkUserResult changeUsersRole(List<Integer> ids, Role newRole) {
+        if (newRole == null) {
+            throw new IllegalArgumentException("Role must be set");
+        }
+        return applyInChunks(ids, (chunk, users) -> {
+            userRepository.updateRole(chunk, newRole);
+            List<String> changed = new ArrayList<>();
+            for (UserResponse user : users) {
+                if (user.getRole() == newRole) {
+                    continue;
+                }
+                changed.add(user.getEmail());
+                AfterCommit.run(() -> {
+                    userStatisticsService.roleChanged(user.getRole(), newRole);
+                    auditEventPublisher.publish(AuditEventType.ROLE_CHANGE, user.getId(), user.getRole() + " -> " + newRole);
+                });
+                userStatusRegistry.invalidateIssuedTokens(user.getId());
+            }
+            userDetailsService.evict(changed);
+            return changed.size();
+        });
+    }
+
+    public BulkUserResult deleteUsers(List<Integer> ids) {
+        return applyInChunks(ids, (chunk, users) -> {
+            // set-based deletes skip the entity cascade, so the owned tokens go first
+            long revoked = refreshTokenRepository.countActiveTokensByUserIdIn(chunk, Instant.now());
+            AfterCommit.run(() -> userStatisticsService.refreshTokensRevoked(revoked));
+            refreshTokenRepository.deleteAllByUserIdIn(chunk);
+            userRepository.deleteAllByIdIn(chunk);
+            List<String> deleted = new ArrayList<>();
+            for (UserResponse user : users) {
+                deleted.add(user.getEmail());
+                AfterCommit.run(() -> {
+                    userStatisticsService.userDeleted(user.getRole(), user.isEnabled(), user.isAccountLocked());
+                    auditEventPublisher.publish(AuditEventType.USER_DELETE, user.getId(), user.getEmail());
+                });
+                userStatusRegistry.markDeleted(user.getId());
+            }
+            userDetailsService.evict(deleted);
+            return deleted.size();
+        });
+    }
+
+    // The pre-image of each chunk is read once as a projection so that cache eviction, statistics
+    // and audit events only cover rows whose value actually changed.
+    private BulkUserResult applyInChunks(List<Integer> ids, BulkOperation operation) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one user id is required");
+        }
+        List<Integer> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<Integer> notFound = new ArrayList<>();
+        int matched = 0;
+        int changed = 0;
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+            List<UserResponse> users = userRepository.findAllResponsesById(chunk);
+            Set<Integer> found = users.stream().map(UserResponse::getId).collect(Collectors.toSet());
+            chunk.stream().filter(id -> !found.contains(id)).forEach(notFound::add);
+            matched += users.size();
+            if (!users.isEmpty()) {
+                changed += operation.apply(chunk, users);
+            }
+        }
+        return BulkUserResult.builder()
+                .requested(distinctIds.size())
+                .matched(matched)
+                .changed(changed)
+                .notFound(notFound)
+                .build();
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -76,4 +268,9 @@ public class UserService {
                 .accountLocked(user.isAccountLocked())
                 .build();
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface BulkOperation {
+        int apply(List<Integer> chunk, List<UserResponse> users);
+    }
+}
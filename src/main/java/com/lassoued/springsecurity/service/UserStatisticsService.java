@@ -0,0 +1,114 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import com.lassoued.springsecurity.domain.UserStatistics;
+import com.lassoued.springsecurity.repository.RefreshTokenRepository;
+import com.lassoued.springsecurity.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+public class UserStatisticsService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final Map<Role, AtomicLong> usersByRole = initRoleCounters();
+    private final AtomicLong enabledUsers = new AtomicLong();
+    private final AtomicLong lockedUsers = new AtomicLong();
+    private final AtomicLong activeRefreshTokens = new AtomicLong();
+    private volatile Instant refreshedAt;
+
+    public UserStatistics snapshot() {
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        long total = 0;
+        for (Map.Entry<Role, AtomicLong> entry : usersByRole.entrySet()) {
+            long count = entry.getValue().get();
+            byRole.put(entry.getKey(), count);
+            total += count;
+        }
+        return UserStatistics.builder()
+                .totalUsers(total)
+                .usersByRole(byRole)
+                .enabledUsers(enabledUsers.get())
+                .lockedUsers(lockedUsers.get())
+                .activeRefreshTokens(activeRefreshTokens.get())
+                .refreshedAt(refreshedAt)
+                .build();
+    }
+
+    // Write paths keep the counters current between refreshes, including refresh tokens that are
+    // superseded or deleted; the periodic refresh corrects the rest, e.g. tokens that simply expire.
+    @Scheduled(fixedDelayString = "${application.statistics.refresh-interval:PT1M}")
+    public void refresh() {
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        long enabled = 0;
+        long locked = 0;
+        for (UserRepository.RoleStatistics statistics : userRepository.countByRole()) {
+            byRole.put(statistics.getRole(), statistics.getTotal());
+            enabled += statistics.getEnabled();
+            locked += statistics.getLocked();
+        }
+        usersByRole.forEach((role, counter) -> counter.set(byRole.getOrDefault(role, 0L)));
+        enabledUsers.set(enabled);
+        lockedUsers.set(locked);
+        activeRefreshTokens.set(refreshTokenRepository.countActiveTokens(Instant.now()));
+        refreshedAt = Instant.now();
+    }
+
+    public void userCreated(User user) {
+        usersByRole.get(user.getRole()).incrementAndGet();
+        statusChanged(false, false, user.isEnabled(), user.isAccountLocked());
+    }
+
+    public void userDeleted(User user) {
+        userDeleted(user.getRole(), user.isEnabled(), user.isAccountLocked());
+    }
+
+    public void userDeleted(Role role, boolean wasEnabled, boolean wasLocked) {
+        usersByRole.get(role).decrementAndGet();
+        statusChanged(wasEnabled, wasLocked, false, false);
+    }
+
+    public void roleChanged(Role oldRole, Role newRole) {
+        if (oldRole != newRole) {
+            usersByRole.get(oldRole).decrementAndGet();
+            usersByRole.get(newRole).incrementAndGet();
+        }
+    }
+
+    public void statusChanged(boolean wasEnabled, boolean wasLocked, boolean enabled, boolean locked) {
+        if (wasEnabled != enabled) {
+            enabledUsers.addAndGet(enabled ? 1 : -1);
+        }
+        if (wasLocked != locked) {
+            lockedUsers.addAndGet(locked ? 1 : -1);
+        }
+    }
+
+    public void refreshTokenIssued() {
+        activeRefreshTokens.incrementAndGet();
+    }
+
+    public void refreshTokensRevoked(long count) {
+        if (count > 0) {
+            activeRefreshTokens.updateAndGet(active -> Math.max(0, active - count));
+        }
+    }
+
+    private static Map<Role, AtomicLong> initRoleCounters() {
+        Map<Role, AtomicLong> counters = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            counters.put(role, new AtomicLong());
+        }
+        return counters;
+    }
+}
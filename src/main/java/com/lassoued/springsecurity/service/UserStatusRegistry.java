@@ -0,0 +1,135 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.domain.TokenRevocation;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import com.lassoued.springsecurity.repository.TokenRevocationRepository;
+import com.lassoued.springsecurity.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class UserStatusRegistry {
+
+    public enum Status {
+        CURRENT,
+        STALE,
+        BLOCKED
+    }
+
+    private final UserRepository userRepository;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final JwtService jwtService;
+
+    @Value("${application.security.jwt.stateless-principal.enabled:false}")
+    private boolean enabled;
+
+    private volatile Set<Integer> blockedUserIds = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, LocalChange> localChanges = new ConcurrentHashMap<>();
+    private final Map<Integer, Instant> tokensNotBefore = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Status check(VerifiedAccessToken token) {
+        Integer userId = token.getUserId();
+        if (userId == null || token.getRole() == null || token.getIssuedAt() == null) {
+            return Status.STALE;
+        }
+        if (blockedUserIds.contains(userId)) {
+            return Status.BLOCKED;
+        }
+        Instant notBefore = tokensNotBefore.get(userId);
+        if (notBefore != null && token.getIssuedAt().isBefore(notBefore)) {
+            return Status.STALE;
+        }
+        return Status.CURRENT;
+    }
+
+    public void markBlocked(Integer userId) {
+        localChanges.put(userId, new LocalChange(true, Instant.now()));
+        blockedUserIds.add(userId);
+    }
+
+    public void markActive(Integer userId) {
+        localChanges.put(userId, new LocalChange(false, Instant.now()));
+        blockedUserIds.remove(userId);
+    }
+
+    // A deleted row is neither locked nor disabled, so the block is recorded in the shared revocation
+    // table; callers run inside the deleting transaction, so it commits together with the delete.
+    public void markDeleted(Integer userId) {
+        markBlocked(userId);
+        revoke(userId, true, notBefore());
+    }
+
+    public void invalidateIssuedTokens(Integer userId) {
+        Instant notBefore = notBefore();
+        tokensNotBefore.merge(userId, notBefore, UserStatusRegistry::latest);
+        revoke(userId, false, notBefore);
+    }
+
+    private void revoke(Integer userId, boolean userDeleted, Instant notBefore) {
+        if (enabled) {
+            tokenRevocationRepository.save(TokenRevocation.builder()
+                    .userId(userId)
+                    .userDeleted(userDeleted)
+                    .notBefore(notBefore)
+                    .build());
+        }
+    }
+
+    // iat has second precision, so round up to keep tokens issued in the same second stale
+    private static Instant notBefore() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+    }
+
+    private static Instant latest(Instant left, Instant right) {
+        return left.isAfter(right) ? left : right;
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.jwt.stateless-principal.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Instant startedAt = Instant.now();
+        Instant oldestLiveToken = startedAt.minusMillis(jwtService.getAccessTokenExpiration());
+        Set<Integer> blocked = ConcurrentHashMap.newKeySet();
+        blocked.addAll(userRepository.findBlockedUserIds());
+        // changes made on this node may not have been committed when the query ran
+        localChanges.forEach((userId, change) -> {
+            if (change.blocked()) {
+                blocked.add(userId);
+            } else {
+                blocked.remove(userId);
+            }
+        });
+        // revocations from every node, kept until the last token they could affect has expired
+        for (TokenRevocation revocation : tokenRevocationRepository.findAllSince(oldestLiveToken)) {
+            if (revocation.isUserDeleted()) {
+                blocked.add(revocation.getUserId());
+            } else {
+                tokensNotBefore.merge(revocation.getUserId(), revocation.getNotBefore(), UserStatusRegistry::latest);
+            }
+        }
+        blockedUserIds = blocked;
+        localChanges.values().removeIf(change -> change.at().isBefore(startedAt.minusSeconds(60)));
+
+        tokensNotBefore.values().removeIf(notBefore -> notBefore.isBefore(oldestLiveToken));
+        tokenRevocationRepository.deleteAllBefore(oldestLiveToken);
+    }
+
+    private record LocalChange(boolean blocked, Instant at) {
+    }
+}
@@ -0,0 +1,8 @@
+-- _user_seq was created with INCREMENT BY 1. User ids are now allocated in blocks of 50
+-- (User.id, allocationSize = 50), and Hibernate refuses to start while the two disagree.
+-- Run once against an existing PostgreSQL database, with the application stopped.
+BEGIN;
+ALTER SEQUENCE _user_seq INCREMENT BY 50;
+-- the pooled optimizer hands out (value - 49) .. value, so the next value must clear every existing id
+SELECT setval('_user_seq', (SELECT COALESCE(MAX(id), 0) FROM _user) + 50, false);
+COMMIT;
@@ -0,0 +1,37 @@
+package com.lassoued.springsecurity.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.PublicKey;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JsonWebKeysTests {
+
+    @Test
+    void publishedKeyVerifiesTokensSignedWithThePrivateKey() {
+        for (SignatureAlgorithm algorithm : new SignatureAlgorithm[]{SignatureAlgorithm.RS256, SignatureAlgorithm.ES256, SignatureAlgorithm.ES512}) {
+            JwtSigningKey key = JwtSigningKey.asymmetric("k1", algorithm, Keys.keyPairFor(algorithm));
+            String token = Jwts.builder().setSubject("user@example.com").signWith(key.getSigningKey(), algorithm).compact();
+
+            Map<String, Object> jwk = JsonWebKeys.toJwk(key);
+            PublicKey publicKey = JsonWebKeys.toPublicKey(jwk);
+
+            assertThat(jwk).containsEntry("kid", "k1").containsEntry("alg", algorithm.getValue()).doesNotContainKey("d");
+            assertThat(Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token).getBody().getSubject())
+                    .isEqualTo("user@example.com");
+        }
+    }
+
+    @Test
+    void hmacKeysAreNeverPublished() {
+        JwtSigningKey key = JwtSigningKey.hmac("k1", Keys.secretKeyFor(SignatureAlgorithm.HS256));
+        assertThat(key.isPublishable()).isFalse();
+        assertThatIllegalArgumentException().isThrownBy(() -> JsonWebKeys.toJwk(key));
+    }
+}
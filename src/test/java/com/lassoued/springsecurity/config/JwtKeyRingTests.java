@@ -0,0 +1,55 @@
+package com.lassoued.springsecurity.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JwtKeyRingTests {
+
+    @Test
+    void keysOfAnotherAlgorithmAreRejected() {
+        JwtSigningKey es256 = JwtSigningKey.asymmetric("k1", SignatureAlgorithm.ES256, Keys.keyPairFor(SignatureAlgorithm.ES256));
+        JwtSigningKey rs256 = JwtSigningKey.asymmetric("k2", SignatureAlgorithm.RS256, Keys.keyPairFor(SignatureAlgorithm.RS256));
+        // labelled ES256, but a P-384 key
+        JwtSigningKey wrongCurve = JwtSigningKey.asymmetric("k3", SignatureAlgorithm.ES256, Keys.keyPairFor(SignatureAlgorithm.ES384));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new JwtKeyRing("k1", Map.of("k1", es256, "k2", rs256)));
+        assertThatIllegalArgumentException().isThrownBy(() -> new JwtKeyRing("k1", Map.of("k1", es256, "k3", wrongCurve)));
+        assertThat(new JwtKeyRing("k1", Map.of("k1", es256)).getAlgorithm()).isEqualTo(SignatureAlgorithm.ES256);
+    }
+
+    @Test
+    void secretsAndKeyPairsDoNotMix() {
+        JwtKeyProperties.KeySet asymmetric = new JwtKeyProperties.KeySet();
+        asymmetric.setAlgorithm(SignatureAlgorithm.ES256);
+        asymmetric.getSecrets().put("k1", secret(SignatureAlgorithm.HS256));
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtKeyRing.fromSecrets(asymmetric, "default", null));
+
+        JwtKeyProperties.KeySet hmac = new JwtKeyProperties.KeySet();
+        hmac.getKeyPairs().put("k1", new JwtKeyProperties.KeyPairProperties());
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtKeyRing.fromSecrets(hmac, "default", null));
+    }
+
+    @Test
+    void hmacKeysTakeTheRingAlgorithm() {
+        JwtKeyProperties.KeySet hs512 = new JwtKeyProperties.KeySet();
+        hs512.setAlgorithm(SignatureAlgorithm.HS512);
+        hs512.getSecrets().put("k1", secret(SignatureAlgorithm.HS512));
+        assertThat(JwtKeyRing.fromSecrets(hs512, "default", null).getActiveKey().getAlgorithm())
+                .isEqualTo(SignatureAlgorithm.HS512);
+
+        // a 256-bit secret is too short for HS512
+        hs512.getSecrets().put("k1", secret(SignatureAlgorithm.HS256));
+        assertThatIllegalArgumentException().isThrownBy(() -> JwtKeyRing.fromSecrets(hs512, "default", null));
+    }
+
+    private static String secret(SignatureAlgorithm algorithm) {
+        return Encoders.BASE64.encode(Keys.secretKeyFor(algorithm).getEncoded());
+    }
+}
@@ -0,0 +1,62 @@
+package com.lassoued.springsecurity.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedRateLimiterTests {
+
+    private static final long EMISSION_INTERVAL = TimeUnit.SECONDS.toNanos(6);
+
+    private final AtomicLong now = new AtomicLong(-123_456_789L);
+
+    @Test
+    void burstIsAllowedThenOneRequestPerEmissionInterval() {
+        // 10 per minute with a burst of 5: one request every 6 seconds once the burst is spent
+        KeyedRateLimiter limiter = new KeyedRateLimiter(10, Duration.ofMinutes(1), 5, 1024, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user@example.com")).isZero();
+        }
+        assertThat(limiter.tryAcquire("user@example.com")).isEqualTo(EMISSION_INTERVAL);
+
+        now.addAndGet(EMISSION_INTERVAL - 1);
+        assertThat(limiter.tryAcquire("user@example.com")).isEqualTo(1);
+        now.addAndGet(1);
+        assertThat(limiter.tryAcquire("user@example.com")).isZero();
+        assertThat(limiter.tryAcquire("user@example.com")).isEqualTo(EMISSION_INTERVAL);
+
+        // an idle bucket refills to the full burst, not beyond
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user@example.com")).isZero();
+        }
+        assertThat(limiter.tryAcquire("user@example.com")).isPositive();
+        assertThat(limiter.getAllowedCount()).isEqualTo(11);
+        assertThat(limiter.getRejectedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void rotatingKeysNeitherGrowMemoryNorThrottleNewKeys() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(10, Duration.ofMinutes(1), 5, 1000, now::get);
+        assertThat(limiter.getBucketCount()).isEqualTo(1024);
+
+        for (int i = 0; i < 1024; i++) {
+            limiter.tryAcquire("attacker" + i + "@example.com");
+        }
+        assertThat(limiter.size()).isLessThanOrEqualTo(limiter.getBucketCount());
+
+        int throttled = 0;
+        for (int i = 0; i < 200; i++) {
+            if (limiter.tryAcquire("user" + i + "@example.com") > 0) {
+                throttled++;
+            }
+        }
+        // a shared overflow bucket would admit only its burst of 5
+        assertThat(throttled).isLessThan(10);
+    }
+}
@@ -0,0 +1,43 @@
+package com.lassoued.springsecurity.config;
+
+import com.lassoued.springsecurity.domain.Permission;
+import com.lassoued.springsecurity.domain.Role;
+import com.lassoued.springsecurity.domain.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RolePermissionEvaluatorTests {
+
+    private final RolePermissionEvaluator evaluator = new RolePermissionEvaluator();
+
+    @Test
+    void bitTestMatchesAuthorityList() {
+        for (Role role : Role.values()) {
+            User user = User.builder().email("user@example.com").role(role).build();
+            Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            for (Permission permission : Permission.values()) {
+                String[] parts = permission.getPermission().split(":");
+                boolean expected = user.getAuthorities().stream()
+                        .anyMatch(authority -> authority.getAuthority().equals(permission.getPermission()));
+                assertThat(evaluator.hasPermission(authentication, parts[0], parts[1]))
+                        .as("%s %s", role, permission)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void unknownPermissionIsDenied() {
+        User user = User.builder().email("admin@example.com").role(Role.ADMIN).build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        assertThat(evaluator.hasPermission(authentication, "admin", "purge")).isFalse();
+    }
+
+    @Test
+    void authoritiesAreComputedOnce() {
+        assertThat(Role.MANAGER.getAuthorities()).isSameAs(Role.MANAGER.getAuthorities());
+    }
+}
@@ -0,0 +1,45 @@
+package com.lassoued.springsecurity.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class RouteAuthorizationTableTests {
+
+    private final RouteAuthorizationTable table = SecurityConfiguration.routeAuthorizationTable();
+
+    @Test
+    void mostSpecificRuleWins() {
+        assertThat(table.resolve("GET", "/api/v1/users/profile").access()).isEqualTo("hasAnyRole[USER]");
+        assertThat(table.resolve("GET", "/api/v1/users/42").access()).isEqualTo("hasAnyRole[MANAGER, ADMIN]");
+        assertThat(table.resolve("PUT", "/api/v1/users/42/role").access()).isEqualTo("hasAnyRole[ADMIN]");
+        assertThat(table.resolve("PUT", "/api/v1/users/bulk/status").access()).isEqualTo("hasAnyRole[ADMIN]");
+        assertThat(table.resolve("POST", "/api/v1/users/42").access()).isEqualTo("authenticated");
+    }
+
+    @Test
+    void authRoutesBypassAuthentication() {
+        assertThat(table.resolve("POST", "/api/v1/auth/authenticate").permitAll()).isTrue();
+        assertThat(table.resolve("POST", "/api/v1/auth").permitAll()).isTrue();
+        assertThat(table.resolve("GET", "/api/v1/users/api/v1/auth").permitAll()).isFalse();
+        assertThat(table.resolve("GET", "/api/v1/admin/dashboard/").access()).isEqualTo("hasAnyRole[ADMIN]");
+    }
+
+    @Test
+    void shadowedRuleFailsTheBuild() {
+        RouteAuthorizationTable.Builder builder = RouteAuthorizationTable.builder()
+                .route("/api/**").authenticated()
+                .route(HttpMethod.GET, "/api/v1/admin/dashboard").hasRole("ADMIN");
+        assertThatIllegalStateException().isThrownBy(builder::build).withMessageContaining("shadowed");
+    }
+
+    @Test
+    void ambiguousRulesFailTheBuild() {
+        RouteAuthorizationTable.Builder builder = RouteAuthorizationTable.builder()
+                .route(HttpMethod.GET, "/api/{version}/users").hasRole("USER")
+                .route(HttpMethod.GET, "/api/v1/{resource}").hasRole("ADMIN");
+        assertThatIllegalStateException().isThrownBy(builder::build).withMessageContaining("ambiguous");
+    }
+}
@@ -0,0 +1,81 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.domain.AuditEventType;
+import com.lassoued.springsecurity.domain.SecurityAuditEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditEventWriterTests {
+
+    private final AuditEventPublisher publisher = new AuditEventPublisher(true, 100, AuditEventPublisher.OverflowPolicy.DROP_NEWEST);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditEventWriter writer = new AuditEventWriter(publisher, jdbcTemplate, mock(PlatformTransactionManager.class), 500);
+    private final List<String> inserted = new ArrayList<>();
+
+    @Test
+    void publisherTruncatesActorAndDetailToTheirColumns() {
+        publisher.publish(AuditEventType.LOGIN_FAILURE, "a".repeat(10_000), null, "d".repeat(10_000));
+
+        List<SecurityAuditEvent> batch = new ArrayList<>();
+        publisher.drainTo(batch, 10);
+
+        assertThat(batch.get(0).getActor()).hasSize(SecurityAuditEvent.ACTOR_LENGTH);
+        assertThat(batch.get(0).getDetail()).hasSize(SecurityAuditEvent.DETAIL_LENGTH);
+    }
+
+    @Test
+    void aRejectedRowOnlyLosesItself() {
+        // stands in for a constraint the publisher cannot see, e.g. a column narrowed by hand
+        rejectActor("bad");
+        publisher.publish(AuditEventType.LOGIN_SUCCESS, "first", 1, null);
+        publisher.publish(AuditEventType.LOGIN_FAILURE, "bad", null, null);
+        publisher.publish(AuditEventType.LOGOUT, "last", 2, null);
+
+        writer.flush();
+
+        assertThat(inserted).containsExactly("first", "last");
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(writer.getFailedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void aFailingDatabaseDropsTheBatchWithoutRetrying() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("down"));
+        publisher.publish(AuditEventType.LOGIN_SUCCESS, "first", 1, null);
+        publisher.publish(AuditEventType.LOGOUT, "last", 2, null);
+
+        writer.flush();
+
+        assertThat(writer.getFailedCount()).isEqualTo(2);
+        assertThat(writer.getWrittenCount()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rejectActor(String actor) {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<SecurityAuditEvent> events = invocation.getArgument(1);
+                    if (events.stream().anyMatch(event -> actor.equals(event.getActor()))) {
+                        throw new DataIntegrityViolationException("value too long");
+                    }
+                    events.forEach(event -> inserted.add(event.getActor()));
+                    return new int[0][];
+                });
+    }
+}
@@ -0,0 +1,89 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.domain.AuthenticationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenCoalescerTests {
+
+    private final RefreshTokenCoalescer coalescer = new RefreshTokenCoalescer(true, Duration.ofMinutes(1), 100);
+
+    @Test
+    void concurrentRedemptionsShareOneComputationAndAreReusedAfterwards() throws Exception {
+        int callers = 8;
+        AtomicInteger redemptions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AuthenticationResponse response = AuthenticationResponse.builder().accessToken("access").build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            Future<AuthenticationResponse> first = executor.submit(() -> coalescer.redeem("token", () -> {
+                redemptions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return response;
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<AuthenticationResponse>> waiters = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                waiters.add(executor.submit(() -> coalescer.redeem("token", () -> {
+                    redemptions.incrementAndGet();
+                    return null;
+                })));
+            }
+            // every waiter must have found the in-flight future before it completes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalescer.getCoalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            for (Future<AuthenticationResponse> waiter : waiters) {
+                assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(coalescer.redeem("token", () -> null)).isSameAs(response);
+        assertThat(redemptions).hasValue(1);
+        assertThat(coalescer.getComputedCount()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedCount()).isEqualTo(callers - 1);
+        assertThat(coalescer.getReusedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void errorReleasesTheSlot() {
+        assertThatThrownBy(() -> coalescer.redeem("token", () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(coalescer.size()).isZero();
+        AuthenticationResponse response = AuthenticationResponse.builder().accessToken("access").build();
+        assertThat(coalescer.redeem("token", () -> response)).isSameAs(response);
+        assertThat(coalescer.getComputedCount()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.lassoued.springsecurity.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lassoued.springsecurity.config.BoundedPasswordEncoder;
+import com.lassoued.springsecurity.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class UserImportServiceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserImportService service = new UserImportService(
+            userRepository,
+            mock(UserStatisticsService.class),
+            mock(AuditEventPublisher.class),
+            objectMapper,
+            mock(PlatformTransactionManager.class),
+            new BoundedPasswordEncoder(4, 1, 1),
+            500,
+            1,
+            64
+    );
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void parseCsvLineHandlesQuotesAndEmptyFields() {
+        assertThat(UserImportService.parseCsvLine("a,b,c")).containsExactly("a", "b", "c");
+        assertThat(UserImportService.parseCsvLine("a,,")).containsExactly("a", "", "");
+        assertThat(UserImportService.parseCsvLine("")).containsExactly("");
+        assertThat(UserImportService.parseCsvLine("\"Doe, Jane\",x")).containsExactly("Doe, Jane", "x");
+        assertThat(UserImportService.parseCsvLine("\"say \"\"hi\"\"\",\"\"")).containsExactly("say \"hi\"", "");
+        assertThatIllegalArgumentException().isThrownBy(() -> UserImportService.parseCsvLine("\"open,field"));
+    }
+
+    @Test
+    void lineReaderSkipsRowsOverTheLimit() throws IOException {
+        String longRow = "x".repeat(20);
+        UserImportService.LineReader reader = new UserImportService.LineReader(
+                new StringReader("short\r\n" + longRow + "\n" + "x".repeat(10) + "\r\nlast"), 10);
+
+        assertThat(reader.readLine()).isEqualTo("short");
+        assertThat(reader.isTruncated()).isFalse();
+        assertThat(reader.readLine()).isEmpty();
+        assertThat(reader.isTruncated()).isTrue();
+        assertThat(reader.readLine()).isEqualTo("x".repeat(10));
+        assertThat(reader.isTruncated()).isFalse();
+        assertThat(reader.readLine()).isEqualTo("last");
+        assertThat(reader.readLine()).isNull();
+    }
+
+    @Test
+    void nullAndOversizedRowsAreReportedAsFailures() throws IOException {
+        String input = "null\n" + "{\"email\":\"" + "a".repeat(100) + "@example.com\"}\n";
+
+        List<JsonNode> events = importUsers(input, UserImportService.Format.NDJSON);
+
+        assertThat(events).hasSize(3);
+        assertThat(events.get(0).get("line").asInt()).isEqualTo(1);
+        assertThat(events.get(0).get("reason").asText()).startsWith("Malformed row");
+        assertThat(events.get(1).get("line").asInt()).isEqualTo(2);
+        assertThat(events.get(1).get("reason").asText()).isEqualTo("Row exceeds 64 characters");
+        assertThat(events.get(2).get("type").asText()).isEqualTo("COMPLETED");
+        assertThat(events.get(2).get("processed").asLong()).isEqualTo(2);
+        assertThat(events.get(2).get("failed").asLong()).isEqualTo(2);
+        verifyNoInteractions(userRepository);
+    }
+
+    private List<JsonNode> importUsers(String input, UserImportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.importUsers(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, "admin", out);
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            events.add(objectMapper.readTree(line));
+        }
+        return events;
+    }
+}
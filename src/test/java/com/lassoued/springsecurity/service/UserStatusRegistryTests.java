@@ -0,0 +1,84 @@
+package com.lassoued.springsecurity.service;
+
+import com.lassoued.springsecurity.config.JwtKeyProperties;
+import com.lassoued.springsecurity.config.JwtService;
+import com.lassoued.springsecurity.domain.TokenRevocation;
+import com.lassoued.springsecurity.domain.VerifiedAccessToken;
+import com.lassoued.springsecurity.repository.TokenRevocationRepository;
+import com.lassoued.springsecurity.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatusRegistryTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenRevocationRepository tokenRevocationRepository = mock(TokenRevocationRepository.class);
+    private final JwtService jwtService = new JwtService(new JwtKeyProperties(), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        // a deleted row is neither locked nor disabled
+        when(userRepository.findBlockedUserIds()).thenReturn(List.of());
+    }
+
+    @Test
+    void deletedUserStaysBlockedAcrossRefresh() {
+        UserStatusRegistry registry = registry();
+        registry.markDeleted(7);
+
+        ArgumentCaptor<TokenRevocation> tombstone = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(tokenRevocationRepository).save(tombstone.capture());
+        assertThat(tombstone.getValue().isUserDeleted()).isTrue();
+        when(tokenRevocationRepository.findAllSince(any())).thenReturn(List.of(tombstone.getValue()));
+
+        registry.refresh();
+        assertThat(registry.check(token(7, Instant.now().minusSeconds(60)))).isEqualTo(UserStatusRegistry.Status.BLOCKED);
+
+        // a node that never saw the delete, or this node after a restart
+        UserStatusRegistry otherNode = registry();
+        otherNode.refresh();
+        assertThat(otherNode.check(token(7, Instant.now().minusSeconds(60)))).isEqualTo(UserStatusRegistry.Status.BLOCKED);
+    }
+
+    @Test
+    void roleChangeOnAnotherNodeMakesOlderTokensStale() {
+        Instant changedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        when(tokenRevocationRepository.findAllSince(any())).thenReturn(List.of(
+                TokenRevocation.builder().userId(7).userDeleted(false).notBefore(changedAt).build()));
+
+        UserStatusRegistry registry = registry();
+        registry.refresh();
+
+        assertThat(registry.check(token(7, changedAt.minusSeconds(30)))).isEqualTo(UserStatusRegistry.Status.STALE);
+        assertThat(registry.check(token(7, changedAt))).isEqualTo(UserStatusRegistry.Status.CURRENT);
+        verify(tokenRevocationRepository).deleteAllBefore(any());
+    }
+
+    private UserStatusRegistry registry() {
+        UserStatusRegistry registry = new UserStatusRegistry(userRepository, tokenRevocationRepository, jwtService);
+        ReflectionTestUtils.setField(registry, "enabled", true);
+        return registry;
+    }
+
+    private static VerifiedAccessToken token(int userId, Instant issuedAt) {
+        return VerifiedAccessToken.builder()
+                .subject("user" + userId + "@example.com")
+                .userId(userId)
+                .role("USER")
+                .issuedAt(issuedAt)
+                .build();
+    }
+}